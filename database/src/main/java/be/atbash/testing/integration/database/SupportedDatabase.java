@@ -15,6 +15,10 @@
  */
 package be.atbash.testing.integration.database;
 
+import be.atbash.testing.integration.database.bulk.BatchBulkLoader;
+import be.atbash.testing.integration.database.bulk.IBulkLoader;
+import be.atbash.testing.integration.database.bulk.MultiRowInsertBulkLoader;
+import be.atbash.testing.integration.database.bulk.PostgresBulkLoader;
 import be.atbash.testing.integration.database.connection.IDatabaseConnectionProvider;
 import be.atbash.testing.integration.database.connection.MySQLConnectionProvider;
 import be.atbash.testing.integration.database.connection.OracleConnectionProvider;
@@ -22,10 +26,10 @@ import be.atbash.testing.integration.database.connection.PostgresConnectionProvi
 
 public enum SupportedDatabase {
 
-    MYSQL("org.testcontainers.containers.MySQLContainer", "mysql:5.7.34", "jdbc:mysql://%s:%d/test?useSSL=false", new MySQLConnectionProvider(), "com.mysql.jdbc")
-    , POSTGRES("org.testcontainers.containers.PostgreSQLContainer", "postgres:9.6.12", "jdbc:postgresql://%s:%d/test", new PostgresConnectionProvider(), "org.postgresql")
-    , MARIADB("org.testcontainers.containers.MariaDBContainer", "mariadb:10.3.6", "jdbc:mariadb://%s:%d/test", new MySQLConnectionProvider(), "org.mariadb.jdbc")  // We use the MySQL one here
-    , ORACLE_XE("org.testcontainers.containers.OracleContainer", "gvenzl/oracle-xe:18.4.0-slim", "jdbc:oracle:thin:@//%s:%d", new OracleConnectionProvider(), "oracle.jdbc");
+    MYSQL("org.testcontainers.containers.MySQLContainer", "mysql:5.7.34", "jdbc:mysql://%s:%d/test?useSSL=false", new MySQLConnectionProvider(), "com.mysql.jdbc", new MultiRowInsertBulkLoader())
+    , POSTGRES("org.testcontainers.containers.PostgreSQLContainer", "postgres:9.6.12", "jdbc:postgresql://%s:%d/test", new PostgresConnectionProvider(), "org.postgresql", new PostgresBulkLoader())
+    , MARIADB("org.testcontainers.containers.MariaDBContainer", "mariadb:10.3.6", "jdbc:mariadb://%s:%d/test", new MySQLConnectionProvider(), "org.mariadb.jdbc", new MultiRowInsertBulkLoader())  // We use the MySQL one here
+    , ORACLE_XE("org.testcontainers.containers.OracleContainer", "gvenzl/oracle-xe:18.4.0-slim", "jdbc:oracle:thin:@//%s:%d", new OracleConnectionProvider(), "oracle.jdbc", new BatchBulkLoader());
 
     private final String className;
     private final String dockerImageName;
@@ -35,13 +39,16 @@ public enum SupportedDatabase {
 
     private final String driverPackageName;
 
-    SupportedDatabase(String className, String dockerImageName, String jdbcURLTemplate, IDatabaseConnectionProvider connectionSupplier, String driverPackageName) {
+    private final IBulkLoader bulkLoader;
+
+    SupportedDatabase(String className, String dockerImageName, String jdbcURLTemplate, IDatabaseConnectionProvider connectionSupplier, String driverPackageName, IBulkLoader bulkLoader) {
 
         this.className = className;
         this.dockerImageName = dockerImageName;
         this.jdbcURLTemplate = jdbcURLTemplate;
         this.connectionSupplier = connectionSupplier;
         this.driverPackageName = driverPackageName;
+        this.bulkLoader = bulkLoader;
     }
 
     public String getClassName() {
@@ -63,4 +70,8 @@ public enum SupportedDatabase {
     public String getDriverPackageName() {
         return driverPackageName;
     }
+
+    public IBulkLoader getBulkLoader() {
+        return bulkLoader;
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.bulk;
+
+import be.atbash.testing.integration.database.exception.DataScriptException;
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.*;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.operation.DatabaseOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Common logic for the bulk loaders. The values of the data set are converted with the data types that DBUnit
+ * determines from the database metadata. Tables with columns that can't be handled by the bulk loader are
+ * inserted by DBUnit.
+ */
+public abstract class AbstractBulkLoader implements IBulkLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractBulkLoader.class);
+
+    private static final List<DataType> UNSUPPORTED_TYPES = Arrays.asList(DataType.UNKNOWN, DataType.BINARY, DataType.VARBINARY
+            , DataType.LONGVARBINARY, DataType.BLOB);
+
+    @Override
+    public void load(IDatabaseConnection connection, IDataSet dataSet) {
+        try {
+            IDataSet databaseDataSet = connection.createDataSet();
+            ITableIterator iterator = dataSet.iterator();
+            while (iterator.next()) {
+                ITable table = iterator.getTable();
+                if (table.getRowCount() == 0) {
+                    continue;
+                }
+                ITableMetaData databaseMetaData = databaseDataSet.getTableMetaData(table.getTableMetaData().getTableName());
+                List<BulkColumn> columns = defineColumns(table.getTableMetaData(), databaseMetaData);
+                if (isSupported(columns)) {
+                    loadTable(connection, table, columns);
+                } else {
+                    LOGGER.info(String.format("Table %s contains columns not supported by the bulk loader, using DBUnit", table.getTableMetaData().getTableName()));
+                    DatabaseOperation.INSERT.execute(connection, new DefaultDataSet(table));
+                }
+            }
+        } catch (DatabaseUnitException | SQLException e) {
+            throw new DataScriptException("Exception during bulk load of the data set", e);
+        }
+    }
+
+    private static List<BulkColumn> defineColumns(ITableMetaData tableMetaData, ITableMetaData databaseMetaData) throws DataSetException {
+        Column[] databaseColumns = databaseMetaData.getColumns();
+        return Arrays.stream(tableMetaData.getColumns())
+                .map(Column::getColumnName)
+                .map(columnName -> new BulkColumn(columnName, findDataType(databaseMetaData, databaseColumns, columnName)))
+                .collect(Collectors.toList());
+    }
+
+    private static DataType findDataType(ITableMetaData databaseMetaData, Column[] databaseColumns, String columnName) {
+        try {
+            return databaseColumns[databaseMetaData.getColumnIndex(columnName)].getDataType();
+        } catch (DataSetException e) {
+            // Column not found, let DBUnit report the problem.
+            return DataType.UNKNOWN;
+        }
+    }
+
+    private static boolean isSupported(List<BulkColumn> columns) {
+        return columns.stream().noneMatch(column -> UNSUPPORTED_TYPES.contains(column.getDataType()));
+    }
+
+    /**
+     * Insert all rows of the table.
+     *
+     * @param connection The connection to the database.
+     * @param table      The table with the rows.
+     * @param columns    The columns of the table with the data type used within the database.
+     */
+    protected abstract void loadTable(IDatabaseConnection connection, ITable table, List<BulkColumn> columns) throws SQLException, DataSetException;
+
+    protected static Object getValue(ITable table, int row, BulkColumn column) throws DataSetException {
+        Object result = table.getValue(row, column.getColumnName());
+        // Like DBUnit, a column without value is not set.
+        return result == ITable.NO_VALUE ? null : result;
+    }
+
+    protected static String defineColumnList(List<BulkColumn> columns) {
+        return columns.stream()
+                .map(BulkColumn::getColumnName)
+                .collect(Collectors.joining(", "));
+    }
+
+    protected static class BulkColumn {
+        private final String columnName;
+        private final DataType dataType;
+
+        BulkColumn(String columnName, DataType dataType) {
+            this.columnName = columnName;
+            this.dataType = dataType;
+        }
+
+        public String getColumnName() {
+            return columnName;
+        }
+
+        public DataType getDataType() {
+            return dataType;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.bulk;
+
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Insert the rows with a single prepared statement and JDBC batching so that the values are sent to the
+ * database in arrays instead of one round trip for each row.
+ */
+public class BatchBulkLoader extends AbstractBulkLoader {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    protected void loadTable(IDatabaseConnection connection, ITable table, List<BulkColumn> columns) throws SQLException, DataSetException {
+        String sql = String.format("INSERT INTO %s (%s) VALUES (%s)", table.getTableMetaData().getTableName()
+                , defineColumnList(columns), String.join(", ", Collections.nCopies(columns.size(), "?")));
+        try (PreparedStatement statement = connection.getConnection().prepareStatement(sql)) {
+            int rowCount = table.getRowCount();
+            for (int row = 0; row < rowCount; row++) {
+                for (int idx = 0; idx < columns.size(); idx++) {
+                    BulkColumn column = columns.get(idx);
+                    column.getDataType().setSqlValue(getValue(table, row, column), idx + 1, statement);
+                }
+                statement.addBatch();
+                if ((row + 1) % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+}
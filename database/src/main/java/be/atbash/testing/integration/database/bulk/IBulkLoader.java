@@ -0,0 +1,34 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.bulk;
+
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.IDataSet;
+
+/**
+ * Interface to have the opportunity to insert the data set with the fastest mechanism of each supported database.
+ */
+@FunctionalInterface
+public interface IBulkLoader {
+
+    /**
+     * Insert all rows of the data set. The tables are expected to be empty.
+     *
+     * @param connection The connection to the database.
+     * @param dataSet    The data set with the rows to insert.
+     */
+    void load(IDatabaseConnection connection, IDataSet dataSet);
+}
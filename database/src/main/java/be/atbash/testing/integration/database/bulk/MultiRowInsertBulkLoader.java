@@ -0,0 +1,59 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.bulk;
+
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Insert the rows with INSERT statements containing multiple rows ({@code INSERT INTO t (..) VALUES (..), (..)}).
+ */
+public class MultiRowInsertBulkLoader extends AbstractBulkLoader {
+
+    // Keeps the number of parameters of a statement well below the limit of the databases.
+    private static final int MAX_PARAMETERS = 10000;
+
+    @Override
+    protected void loadTable(IDatabaseConnection connection, ITable table, List<BulkColumn> columns) throws SQLException, DataSetException {
+        int rowCount = table.getRowCount();
+        int rowsPerStatement = Math.max(1, MAX_PARAMETERS / columns.size());
+        for (int start = 0; start < rowCount; start += rowsPerStatement) {
+            int end = Math.min(rowCount, start + rowsPerStatement);
+            insertRows(connection, table, columns, start, end);
+        }
+    }
+
+    private static void insertRows(IDatabaseConnection connection, ITable table, List<BulkColumn> columns, int start, int end) throws SQLException, DataSetException {
+        String rowParameters = "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        String sql = String.format("INSERT INTO %s (%s) VALUES %s", table.getTableMetaData().getTableName()
+                , defineColumnList(columns), String.join(", ", Collections.nCopies(end - start, rowParameters)));
+        try (PreparedStatement statement = connection.getConnection().prepareStatement(sql)) {
+            int parameterIndex = 1;
+            for (int row = start; row < end; row++) {
+                for (BulkColumn column : columns) {
+                    column.getDataType().setSqlValue(getValue(table, row, column), parameterIndex++, statement);
+                }
+            }
+            statement.executeUpdate();
+        }
+    }
+}
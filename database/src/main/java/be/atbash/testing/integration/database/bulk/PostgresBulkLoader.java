@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.bulk;
+
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Streams the rows to the database with the COPY command of PostgreSQL. The {@code CopyManager} of the JDBC driver
+ * is accessed by reflection as the driver is only available on the class path of the test. When it is not available,
+ * JDBC batching is used.
+ */
+public class PostgresBulkLoader extends BatchBulkLoader {
+
+    private static final String NULL_VALUE = "\\N";
+
+    @Override
+    protected void loadTable(IDatabaseConnection connection, ITable table, List<BulkColumn> columns) throws SQLException, DataSetException {
+        Connection jdbcConnection = connection.getConnection();
+        Object copyManager = getCopyManager(jdbcConnection);
+        if (copyManager == null) {
+            super.loadTable(connection, table, columns);
+            return;
+        }
+        String sql = String.format("COPY %s (%s) FROM STDIN", table.getTableMetaData().getTableName(), defineColumnList(columns));
+        try {
+            Method copyIn = copyManager.getClass().getMethod("copyIn", String.class, Reader.class);
+            copyIn.invoke(copyManager, sql, new StringReader(defineContent(table, columns)));
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Exception during COPY of the data to " + table.getTableMetaData().getTableName(), e.getCause());
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            super.loadTable(connection, table, columns);
+        }
+    }
+
+    private static Object getCopyManager(Connection jdbcConnection) {
+        try {
+            Class<?> pgConnection = Class.forName("org.postgresql.PGConnection", true, jdbcConnection.getClass().getClassLoader());
+            Object connection = jdbcConnection.unwrap(pgConnection);
+            return pgConnection.getMethod("getCopyAPI").invoke(connection);
+        } catch (ReflectiveOperationException | SQLException e) {
+            return null;
+        }
+    }
+
+    private static String defineContent(ITable table, List<BulkColumn> columns) throws DataSetException {
+        StringBuilder result = new StringBuilder();
+        int rowCount = table.getRowCount();
+        for (int row = 0; row < rowCount; row++) {
+            for (int idx = 0; idx < columns.size(); idx++) {
+                if (idx > 0) {
+                    result.append('\t');
+                }
+                BulkColumn column = columns.get(idx);
+                result.append(toText(column.getDataType().typeCast(getValue(table, row, column))));
+            }
+            result.append('\n');
+        }
+        return result.toString();
+    }
+
+    private static String toText(Object value) {
+        if (value == null) {
+            return NULL_VALUE;
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        // Escape the characters that have a special meaning in the text format of COPY.
+        return value.toString()
+                .replace("\\", "\\\\")
+                .replace("\t", "\\t")
+                .replace("\n", "\\n")
+                .replace("\r", "\\r");
+    }
+}
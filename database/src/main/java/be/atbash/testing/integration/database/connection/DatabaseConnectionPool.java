@@ -0,0 +1,190 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.connection;
+
+import be.atbash.testing.integration.container.exception.UnexpectedException;
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.IDatabaseConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Small pool of DBUnit connections to the database container. A connection is validated when it is borrowed and
+ * replaced by a new connection when it is broken (for example because the database closed it). The maximum number
+ * of connections is defined by the System property {@code be.atbash.test.database.pool.size} (default 4).
+ */
+public class DatabaseConnectionPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseConnectionPool.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long BORROW_TIMEOUT_SECONDS = 60;
+
+    private final Supplier<IDatabaseConnection> connectionSupplier;
+    private final int maximumSize;
+    private final Semaphore available;
+    private final Deque<IDatabaseConnection> idle = new ConcurrentLinkedDeque<>();
+    private final List<IDatabaseConnection> created = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitTime = new AtomicLong();
+    private final AtomicLong maxWaitTime = new AtomicLong();
+    private final AtomicLong replacedCount = new AtomicLong();
+
+    public DatabaseConnectionPool(Supplier<IDatabaseConnection> connectionSupplier) {
+        this(connectionSupplier, Integer.getInteger("be.atbash.test.database.pool.size", 4));
+    }
+
+    public DatabaseConnectionPool(Supplier<IDatabaseConnection> connectionSupplier, int maximumSize) {
+        this.connectionSupplier = connectionSupplier;
+        this.maximumSize = maximumSize;
+        this.available = new Semaphore(maximumSize, true);
+    }
+
+    /**
+     * Borrow a valid connection, waits when all connections are in use. The connection must be given back to
+     * the pool by {@link #release(IDatabaseConnection)}.
+     *
+     * @return The connection.
+     */
+    public IDatabaseConnection borrow() {
+        long start = System.nanoTime();
+        try {
+            if (!available.tryAcquire(BORROW_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new UnexpectedException(String.format("No database connection available within %s seconds", BORROW_TIMEOUT_SECONDS));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnexpectedException("Interrupted while waiting for a database connection", e);
+        }
+        long waitTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        borrowCount.incrementAndGet();
+        totalWaitTime.addAndGet(waitTime);
+        maxWaitTime.accumulateAndGet(waitTime, Math::max);
+
+        try {
+            return takeValidConnection();
+        } catch (RuntimeException e) {
+            available.release();
+            throw e;
+        }
+    }
+
+    private IDatabaseConnection takeValidConnection() {
+        IDatabaseConnection result = idle.pollFirst();
+        while (result != null && !isValid(result)) {
+            LOGGER.warn("Broken database connection is replaced by a new connection");
+            replacedCount.incrementAndGet();
+            created.remove(result);
+            close(result);
+            result = idle.pollFirst();
+        }
+        if (result == null) {
+            result = connectionSupplier.get();
+            created.add(result);
+        }
+        return result;
+    }
+
+    private static boolean isValid(IDatabaseConnection connection) {
+        try {
+            return connection.getConnection().isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Give the connection back to the pool.
+     *
+     * @param connection The connection that is borrowed.
+     */
+    public void release(IDatabaseConnection connection) {
+        idle.addFirst(connection);
+        available.release();
+    }
+
+    /**
+     * Execute the callback with a borrowed connection that is released afterwards.
+     *
+     * @param callback The code using the connection.
+     */
+    public void execute(ConnectionCallback callback) throws DatabaseUnitException, SQLException {
+        IDatabaseConnection connection = borrow();
+        try {
+            callback.execute(connection);
+        } finally {
+            release(connection);
+        }
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    public long getTotalWaitTime() {
+        return totalWaitTime.get();
+    }
+
+    public long getMaxWaitTime() {
+        return maxWaitTime.get();
+    }
+
+    public long getReplacedCount() {
+        return replacedCount.get();
+    }
+
+    /**
+     * Close all connections created by the pool, also the ones that are still borrowed.
+     */
+    public void close() {
+        LOGGER.info(String.format("Database connection pool: %s connections created, %s borrowed (total wait %s ms, max wait %s ms), %s replaced",
+                created.size(), getBorrowCount(), getTotalWaitTime(), getMaxWaitTime(), getReplacedCount()));
+        created.forEach(DatabaseConnectionPool::close);
+        created.clear();
+        idle.clear();
+    }
+
+    private static void close(IDatabaseConnection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOGGER.warn("Unexpected SQLException during close of the connection " + e.getMessage());
+        }
+    }
+
+    /**
+     * Code that uses a connection of the pool.
+     */
+    @FunctionalInterface
+    public interface ConnectionCallback {
+        void execute(IDatabaseConnection connection) throws DatabaseUnitException, SQLException;
+    }
+}
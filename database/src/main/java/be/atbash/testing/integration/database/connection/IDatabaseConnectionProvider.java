@@ -15,14 +15,35 @@
  */
 package be.atbash.testing.integration.database.connection;
 
+import be.atbash.testing.integration.container.exception.UnexpectedException;
+import org.dbunit.DatabaseUnitException;
 import org.dbunit.database.DatabaseConnection;
 import org.testcontainers.containers.JdbcDatabaseContainer;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+
 /**
  * Interface to have the opportunity to create a DatabaseConnection for each supported database.
  */
 @FunctionalInterface
 public interface IDatabaseConnectionProvider {
 
-    DatabaseConnection create(JdbcDatabaseContainer<?> jdbcDatabaseContainer);
+    default DatabaseConnection create(JdbcDatabaseContainer<?> jdbcDatabaseContainer) {
+        try {
+            // empty String means we don't pass any additional parameters to the creation of the connection
+            return create(jdbcDatabaseContainer.createConnection(""), jdbcDatabaseContainer.getDatabaseName());
+        } catch (SQLException e) {
+            throw new UnexpectedException("Error occurred during creation connection to database within Container", e);
+        }
+    }
+
+    /**
+     * Create the DBUnit connection for a JDBC connection to the database.
+     *
+     * @param connection The JDBC connection.
+     * @param schema     The schema (or database) that contains the tables.
+     * @return The DBUnit connection.
+     */
+    DatabaseConnection create(Connection connection, String schema);
 }
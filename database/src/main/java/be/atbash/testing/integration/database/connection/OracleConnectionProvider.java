@@ -19,17 +19,15 @@ import be.atbash.testing.integration.container.exception.UnexpectedException;
 import org.dbunit.DatabaseUnitException;
 import org.dbunit.database.DatabaseConnection;
 import org.dbunit.ext.oracle.OracleConnection;
-import org.testcontainers.containers.JdbcDatabaseContainer;
 
-import java.sql.SQLException;
+import java.sql.Connection;
 
 public class OracleConnectionProvider implements IDatabaseConnectionProvider {
     @Override
-    public DatabaseConnection create(JdbcDatabaseContainer<?> jdbcDatabaseContainer) {
+    public DatabaseConnection create(Connection connection, String schema) {
         try {
-            // empty String means we don't pass any additional parameters to the creation of the connection
-            return new OracleConnection(jdbcDatabaseContainer.createConnection(""), jdbcDatabaseContainer.getDatabaseName());
-        } catch (DatabaseUnitException | SQLException e) {
+            return new OracleConnection(connection, schema);
+        } catch (DatabaseUnitException e) {
             throw new UnexpectedException("Error occurred during creation connection to database within Container", e);
         }
     }
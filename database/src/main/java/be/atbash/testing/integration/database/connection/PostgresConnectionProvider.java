@@ -18,17 +18,15 @@ package be.atbash.testing.integration.database.connection;
 import be.atbash.testing.integration.container.exception.UnexpectedException;
 import org.dbunit.DatabaseUnitException;
 import org.dbunit.database.DatabaseConnection;
-import org.testcontainers.containers.JdbcDatabaseContainer;
 
-import java.sql.SQLException;
+import java.sql.Connection;
 
 public class PostgresConnectionProvider implements IDatabaseConnectionProvider {
     @Override
-    public DatabaseConnection create(JdbcDatabaseContainer<?> jdbcDatabaseContainer) {
+    public DatabaseConnection create(Connection connection, String schema) {
         try {
-            // empty String means we don't pass any additional parameters to the creation of the connection
-            return new PostgresqlConnection(jdbcDatabaseContainer.createConnection(""), jdbcDatabaseContainer.getDatabaseName());
-        } catch (DatabaseUnitException | SQLException e) {
+            return new PostgresqlConnection(connection, schema);
+        } catch (DatabaseUnitException e) {
             throw new UnexpectedException("Error occurred during creation connection to database within Container", e);
         }
     }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.dataset;
+
+import org.dbunit.dataset.AbstractDataSet;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTableIterator;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITableIterator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable data set where all tables are kept as {@link CompactTable}. It can be used by multiple test classes
+ * without the need to parse the data file again.
+ */
+public class CompactDataSet extends AbstractDataSet {
+
+    private final CompactTable[] tables;
+
+    private CompactDataSet(CompactTable[] tables) {
+        this.tables = tables;
+    }
+
+    @Override
+    protected ITableIterator createIterator(boolean reversed) {
+        return new DefaultTableIterator(tables, reversed);
+    }
+
+    public static CompactDataSet of(IDataSet dataSet) throws DataSetException {
+        List<CompactTable> tables = new ArrayList<>();
+        ITableIterator iterator = dataSet.iterator();
+        while (iterator.next()) {
+            tables.add(CompactTable.of(iterator.getTable()));
+        }
+        CompactDataSet result = new CompactDataSet(tables.toArray(new CompactTable[0]));
+        // AbstractDataSet builds the map of the tables on first use without synchronization. Build it now, before
+        // the data set is used by multiple threads.
+        result.getTableNames();
+        return result;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.dataset;
+
+import org.dbunit.dataset.AbstractTable;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableMetaData;
+
+/**
+ * Immutable copy of a table where the values are kept in an array for each column.
+ */
+public class CompactTable extends AbstractTable {
+
+    private final ITableMetaData metaData;
+    private final int rowCount;
+    private final Object[][] columnValues;
+
+    private CompactTable(ITableMetaData metaData, int rowCount, Object[][] columnValues) {
+        this.metaData = metaData;
+        this.rowCount = rowCount;
+        this.columnValues = columnValues;
+    }
+
+    @Override
+    public ITableMetaData getTableMetaData() {
+        return metaData;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public Object getValue(int row, String column) throws DataSetException {
+        assertValidRowIndex(row);
+        return columnValues[getColumnIndex(column)][row];
+    }
+
+    public static CompactTable of(ITable table) throws DataSetException {
+        ITableMetaData metaData = table.getTableMetaData();
+        Column[] columns = metaData.getColumns();
+        int rowCount = table.getRowCount();
+
+        Object[][] columnValues = new Object[columns.length][rowCount];
+        for (int idx = 0; idx < columns.length; idx++) {
+            String columnName = columns[idx].getColumnName();
+            // The metadata builds the index of the columns on first use, build it before the table is shared.
+            metaData.getColumnIndex(columnName);
+            for (int row = 0; row < rowCount; row++) {
+                columnValues[idx][row] = table.getValue(row, columnName);
+            }
+        }
+        return new CompactTable(metaData, rowCount, columnValues);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.dataset;
+
+import be.atbash.testing.integration.container.exception.UnexpectedException;
+import org.dbunit.dataset.CachedDataSet;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.csv.CsvDataSet;
+import org.dbunit.dataset.csv.CsvURLProducer;
+import org.dbunit.dataset.excel.XlsDataSet;
+import org.dbunit.dataset.xml.FlatXmlProducer;
+import org.xml.sax.InputSource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process wide cache of the parsed data files. The data file is only parsed once, for the first test class
+ * that uses it, and parsed again when the file is modified. The format of the data file is determined by
+ * {@link DataSetFormat}. The flat XML and CSV files are read by the streaming producers of DBUnit.
+ */
+public final class DataSetCache {
+
+    private static final Map<String, CachedEntry> CACHE = new ConcurrentHashMap<>();
+
+    private DataSetCache() {
+    }
+
+    /**
+     * Returns the data set for the data file.
+     *
+     * @param dataFile The data file on the class path.
+     * @return The immutable data set.
+     */
+    public static IDataSet getDataSet(URL dataFile) {
+        DataSetFormat format = DataSetFormat.of(dataFile.getPath());
+        URL location = format == DataSetFormat.CSV ? asDirectory(dataFile) : dataFile;
+        long lastModified = determineLastModified(format, location);
+        CachedEntry entry = CACHE.compute(location.toExternalForm(), (key, cached) -> {
+            if (cached != null && cached.lastModified == lastModified) {
+                return cached;
+            }
+            return new CachedEntry(lastModified, readDataSet(format, location));
+        });
+        return entry.dataSet;
+    }
+
+    private static URL asDirectory(URL dataFile) {
+        if (dataFile.toExternalForm().endsWith("/")) {
+            return dataFile;
+        }
+        try {
+            // The CSV files are resolved relative to the directory.
+            return new URL(dataFile.toExternalForm() + "/");
+        } catch (MalformedURLException e) {
+            throw new UnexpectedException("Unexpected exception happened during creation of the URL for the directory " + dataFile, e);
+        }
+    }
+
+    private static long determineLastModified(DataSetFormat format, URL location) {
+        try {
+            if (format != DataSetFormat.CSV) {
+                return lastModified(location);
+            }
+            // The modification time of a directory doesn't change when a file is modified.
+            URL tableOrdering = new URL(location, CsvDataSet.TABLE_ORDERING_FILE);
+            long result = lastModified(tableOrdering);
+            for (String tableName : readTableNames(tableOrdering)) {
+                result = Math.max(result, lastModified(new URL(location, tableName + ".csv")));
+            }
+            return result;
+        } catch (IOException e) {
+            throw new UnexpectedException("Unexpected exception happened during retrieval of the last modification of " + location, e);
+        }
+    }
+
+    private static long lastModified(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            Path path = toPath(url);
+            // Same as the URLConnection, 0 when the file doesn't exist.
+            return Files.exists(path) ? Files.getLastModifiedTime(path).toMillis() : 0;
+        }
+        URLConnection connection = url.openConnection();
+        try {
+            return connection.getLastModified();
+        } finally {
+            // The connection opens the resource to determine the modification time.
+            try (InputStream ignored = connection.getInputStream()) {
+                // Only closing the stream.
+            } catch (IOException e) {
+                // The resource doesn't exist, nothing opened.
+            }
+        }
+    }
+
+    private static Path toPath(URL url) {
+        try {
+            return Path.of(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new UnexpectedException("Unexpected exception happened during conversion of the URL " + url, e);
+        }
+    }
+
+    private static List<String> readTableNames(URL tableOrdering) throws IOException {
+        List<String> result = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(tableOrdering.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    result.add(line.trim());
+                }
+            }
+        }
+        return result;
+    }
+
+    private static CompactDataSet readDataSet(DataSetFormat format, URL location) {
+        try {
+            switch (format) {
+                case EXCEL:
+                    try (InputStream inputStream = location.openStream()) {
+                        return CompactDataSet.of(new XlsDataSet(inputStream));
+                    }
+                case FLAT_XML:
+                    try (InputStream inputStream = location.openStream()) {
+                        // Column sensing so that columns not defined on the first row of the table are also picked up.
+                        return CompactDataSet.of(new CachedDataSet(new FlatXmlProducer(new InputSource(inputStream), false, true)));
+                    }
+                case CSV:
+                    return CompactDataSet.of(new CachedDataSet(new CsvURLProducer(location, CsvDataSet.TABLE_ORDERING_FILE)));
+                default:
+                    throw new IllegalArgumentException(String.format("Unknown data set format %s", format));
+            }
+        } catch (IOException | DataSetException e) {
+            throw new UnexpectedException("Unexpected exception happened during creation of Dataset from " + location, e);
+        }
+    }
+
+    private static class CachedEntry {
+        private final long lastModified;
+        private final CompactDataSet dataSet;
+
+        CachedEntry(long lastModified, CompactDataSet dataSet) {
+            this.lastModified = lastModified;
+            this.dataSet = dataSet;
+        }
+    }
+}
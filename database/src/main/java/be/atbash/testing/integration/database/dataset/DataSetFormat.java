@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.dataset;
+
+import be.atbash.testing.integration.ConfigurationException;
+
+import java.util.Locale;
+
+/**
+ * The supported formats of the data file, determined by the extension of the file name.
+ */
+public enum DataSetFormat {
+
+    /**
+     * Excel workbook ({@code .xls} or {@code .xlsx}), each sheet is a table.
+     */
+    EXCEL,
+    /**
+     * DBUnit flat XML file ({@code .xml}), each element is a row of the table with the element name.
+     */
+    FLAT_XML,
+    /**
+     * Directory (no extension) with a CSV file for each table and the file {@code table-ordering.txt} that lists the tables.
+     */
+    CSV;
+
+    public static DataSetFormat of(String dataFile) {
+        String fileName = dataFile.endsWith("/") ? dataFile.substring(0, dataFile.length() - 1) : dataFile;
+        fileName = fileName.substring(fileName.lastIndexOf('/') + 1);
+        int idx = fileName.lastIndexOf('.');
+        if (idx == -1) {
+            return CSV;
+        }
+        String extension = fileName.substring(idx + 1).toLowerCase(Locale.ENGLISH);
+        switch (extension) {
+            case "xls":
+            case "xlsx":
+                return EXCEL;
+            case "xml":
+                return FLAT_XML;
+            default:
+                throw new ConfigurationException(String.format("The data file '%s' has an unsupported format. Supported are xls, xlsx, xml and a directory with CSV files", dataFile));
+        }
+    }
+}
@@ -16,40 +16,21 @@
 package be.atbash.testing.integration.database.image;
 
 import be.atbash.testing.integration.container.exception.UnexpectedException;
+import be.atbash.testing.integration.container.image.DockerFile;
+import be.atbash.testing.integration.container.image.DockerFileStage;
 import be.atbash.testing.integration.container.image.TestContext;
 import be.atbash.testing.integration.jupiter.ContainerAdapterMetaData;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.IntStream;
 
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
 public abstract class AbstractImageDatabaseAdapter {
 
-    protected List<String> updateBuildFileForDriver(List<String> dockerFileLines, String imageLocationForDriver, String fileName) {
-        int line = findLine(dockerFileLines, "ADD test.war");  // This is a marker
-        List<String> result = new ArrayList<>(dockerFileLines);
-        // add a new line before the 'ADD test.war'
-        result.add(line, String.format("ADD %s %s", fileName, imageLocationForDriver));
-        return result;
-    }
-
-    /**
-     * Find the line in the Docker build script that contains a certain text
-     *
-     * @param dockerFileLines All lines of the Docker build file
-     * @param dataOnLine      Text to be found.
-     * @return line number (0 based) or -1 when not found.
-     */
-    protected int findLine(List<String> dockerFileLines, String dataOnLine) {
-        return IntStream.range(0, dockerFileLines.size())
-                .filter(i -> dockerFileLines.get(i).contains(dataOnLine))
-                .findFirst()
-                .orElse(-1);
+    protected void addDriver(DockerFile dockerFile, String imageLocationForDriver, String fileName) {
+        dockerFile.add(DockerFileStage.LIBRARIES, String.format("ADD %s %s", fileName, imageLocationForDriver));
     }
 
     protected String copyJDBCDriver(TestContext testContext) {
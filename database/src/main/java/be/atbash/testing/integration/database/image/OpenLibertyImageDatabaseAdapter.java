@@ -15,23 +15,19 @@
  */
 package be.atbash.testing.integration.database.image;
 
+import be.atbash.testing.integration.container.image.DockerFile;
+import be.atbash.testing.integration.container.image.DockerFileStage;
 import be.atbash.testing.integration.container.image.DockerImageAdapter;
 import be.atbash.testing.integration.container.image.TestContext;
 import be.atbash.testing.integration.jupiter.SupportedRuntime;
 
-import java.util.Arrays;
-import java.util.List;
-
 public class OpenLibertyImageDatabaseAdapter extends AbstractImageDatabaseAdapter implements DockerImageAdapter {
     @Override
-    public String adapt(String dockerFileContent, TestContext testContext) {
+    public void adapt(DockerFile dockerFile, TestContext testContext) {
         String fileName = copyJDBCDriver(testContext);
-        List<String> dockerFileLines = Arrays.asList(dockerFileContent.split("\n"));
 
-        dockerFileLines = updateBuildFileForDriver(dockerFileLines, "/config/lib", fileName);
-        int line = findLine(dockerFileLines, "/config/lib");
-        dockerFileLines.add(line, "RUN mkdir -p /config/lib");
-        return String.join("\n", dockerFileLines);
+        dockerFile.add(DockerFileStage.LIBRARIES, "RUN mkdir -p /config/lib");
+        addDriver(dockerFile, "/config/lib", fileName);
     }
 
     @Override
@@ -15,6 +15,8 @@
  */
 package be.atbash.testing.integration.database.image;
 
+import be.atbash.testing.integration.ConfigurationException;
+import be.atbash.testing.integration.container.image.DockerFile;
 import be.atbash.testing.integration.container.image.DockerImageAdapter;
 import be.atbash.testing.integration.container.image.TestContext;
 import be.atbash.testing.integration.jupiter.SupportedRuntime;
@@ -25,19 +27,18 @@ import java.util.List;
 
 public class PayaraMicroImageDatabaseAdapter extends AbstractImageDatabaseAdapter implements DockerImageAdapter {
     @Override
-    public String adapt(String dockerFileContent, TestContext testContext) {
+    public void adapt(DockerFile dockerFile, TestContext testContext) {
         String fileName = copyJDBCDriver(testContext);
-        List<String> dockerFileLines = Arrays.asList(dockerFileContent.split("\n"));
 
-        dockerFileLines = updateBuildFileForDriver(dockerFileLines, "/opt/payara", fileName);
+        addDriver(dockerFile, "/opt/payara", fileName);
 
-        int cmdLine = findLine(dockerFileLines, "--deploy");
-        List<String> cmdParameters = getCmdParameters(dockerFileLines.get(cmdLine));
+        // The JDBC driver can only be added through the command that starts Payara Micro.
+        String cmdLine = dockerFile.findInstruction("--deploy")
+                .orElseThrow(() -> new ConfigurationException("The Docker build file for Payara Micro must have a CMD instruction with '--deploy' to add the JDBC driver with '--addlibs'"));
+        List<String> cmdParameters = getCmdParameters(cmdLine);
         cmdParameters.add("\"--addlibs\"");
         cmdParameters.add(String.format("\"/opt/payara/%s\"", fileName));
-        dockerFileLines.set(cmdLine, assembleCMDCommand(cmdParameters));
-
-        return String.join("\n", dockerFileLines);
+        dockerFile.replaceInstruction(cmdLine, assembleCMDCommand(cmdParameters));
     }
 
     private String assembleCMDCommand(List<String> cmdParameters) {
@@ -17,6 +17,8 @@ package be.atbash.testing.integration.database.image;
 
 import be.atbash.testing.integration.container.AdditionalEnvParameters;
 import be.atbash.testing.integration.container.exception.UnexpectedException;
+import be.atbash.testing.integration.container.image.DockerFile;
+import be.atbash.testing.integration.container.image.DockerFileStage;
 import be.atbash.testing.integration.container.image.DockerImageAdapter;
 import be.atbash.testing.integration.container.image.TestContext;
 import be.atbash.testing.integration.database.jupiter.DatabaseContainerAdapterMetaData;
@@ -28,8 +30,6 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Arrays;
-import java.util.List;
 
 public class WildflyImageDatabaseAdapter extends AbstractImageDatabaseAdapter implements DockerImageAdapter {
 
@@ -39,7 +39,7 @@ public class WildflyImageDatabaseAdapter extends AbstractImageDatabaseAdapter im
     public static final String WILDFLY_BIN = "/opt/jboss/wildfly/bin";
 
     @Override
-    public String adapt(String dockerFileContent, TestContext testContext) {
+    public void adapt(DockerFile dockerFile, TestContext testContext) {
         ContainerAdapterMetaData containerMetaData = testContext.getInstance(ContainerAdapterMetaData.class);
         DatabaseContainerAdapterMetaData databaseMetaData = testContext.getInstance(DatabaseContainerAdapterMetaData.class);
 
@@ -49,29 +49,24 @@ public class WildflyImageDatabaseAdapter extends AbstractImageDatabaseAdapter im
         parameters.add("jndi_name", databaseMetaData.getDatabaseContainerIntegrationTest().jndiDatasourceName());
         testContext.addInstance(parameters);
 
-        List<String> dockerFileLines = Arrays.asList(dockerFileContent.split("\n"));
-
-        dockerFileLines = updateBuildFileForDriver(dockerFileLines, STANDALONE_DEPLOYMENTS, fileName);
+        addDriver(dockerFile, STANDALONE_DEPLOYMENTS, fileName);
 
         Path tempDir = containerMetaData.getTempDir();
         copyFile(tempDir, TEST_DS_XML);
         copyFile(tempDir, ENTRYPOINT_SH);
 
-        addInstallationFor_envsubst(dockerFileLines);
-
-        int line = findLine(dockerFileLines, "ADD test.war");
-        dockerFileLines.add(line, String.format("COPY --chown=1000:jboss %s %s", TEST_DS_XML, STANDALONE_DEPLOYMENTS));
-        dockerFileLines.add(line + 1, String.format("COPY --chown=1000:jboss %s %s", ENTRYPOINT_SH, WILDFLY_BIN));
-        dockerFileLines.add(line + 2, String.format("RUN chmod +x %s/%s", WILDFLY_BIN, ENTRYPOINT_SH));
-        dockerFileLines.add(line + 3, "CMD [\"" + WILDFLY_BIN + "/entrypoint.sh\"]");
+        addInstallationFor_envsubst(dockerFile);
 
-        return String.join("\n", dockerFileLines);
+        dockerFile.add(DockerFileStage.RUNTIME_CONFIG, String.format("COPY --chown=1000:jboss %s %s", TEST_DS_XML, STANDALONE_DEPLOYMENTS));
+        dockerFile.add(DockerFileStage.RUNTIME_CONFIG, String.format("COPY --chown=1000:jboss %s %s", ENTRYPOINT_SH, WILDFLY_BIN));
+        dockerFile.add(DockerFileStage.RUNTIME_CONFIG, String.format("RUN chmod +x %s/%s", WILDFLY_BIN, ENTRYPOINT_SH));
+        dockerFile.add(DockerFileStage.RUNTIME_CONFIG, "CMD [\"" + WILDFLY_BIN + "/entrypoint.sh\"]");
     }
 
-    private void addInstallationFor_envsubst(List<String> dockerFileLines) {
-        dockerFileLines.add(1, "USER root");
-        dockerFileLines.add(2, "RUN yum -y install gettext && yum clean all");
-        dockerFileLines.add(3, "USER 1000");
+    private void addInstallationFor_envsubst(DockerFile dockerFile) {
+        dockerFile.add(DockerFileStage.BASE, "USER root");
+        dockerFile.add(DockerFileStage.BASE, "RUN yum -y install gettext && yum clean all");
+        dockerFile.add(DockerFileStage.BASE, "USER 1000");
 
     }
 
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.jupiter;
+
+/**
+ * Defines how the data in the database is reset between the test methods.
+ */
+public enum DataIsolation {
+
+    /**
+     * The data set is inserted before each test (DBUnit CLEAN_INSERT) and removed after each test (DBUnit DELETE_ALL).
+     */
+    CLEAN_INSERT,
+    /**
+     * The data set is inserted once for the test class and a snapshot of the tables is kept within the database.
+     * After each test, the tables are restored from the snapshot by statements executed in the database itself.
+     */
+    SNAPSHOT,
+    /**
+     * The data set is inserted once for the test class and triggers record which tables are modified by a test.
+     * After each test, only the modified tables, and the tables referring to them, are reloaded from the data set.
+     */
+    INCREMENTAL
+}
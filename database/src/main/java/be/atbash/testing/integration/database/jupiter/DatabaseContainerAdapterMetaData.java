@@ -26,6 +26,7 @@ public class DatabaseContainerAdapterMetaData {
 
     private DatabaseContainerIntegrationTest databaseContainerIntegrationTest;
     private SupportedDatabase database;
+    private String databaseImageName;
 
     private DatabaseContainerAdapterMetaData() {
     }
@@ -38,10 +39,23 @@ public class DatabaseContainerAdapterMetaData {
         return database;
     }
 
+    public String getDatabaseImageName() {
+        return databaseImageName;
+    }
+
     public static DatabaseContainerAdapterMetaData create(DatabaseContainerIntegrationTest databaseContainerIntegrationTest) {
         DatabaseContainerAdapterMetaData result = new DatabaseContainerAdapterMetaData();
         result.databaseContainerIntegrationTest = databaseContainerIntegrationTest;
         result.database = determineDatabase();
+        result.databaseImageName = determineDatabaseImageName(databaseContainerIntegrationTest, result.database);
+        return result;
+    }
+
+    private static String determineDatabaseImageName(DatabaseContainerIntegrationTest containerIntegrationTest, SupportedDatabase database) {
+        String result = containerIntegrationTest.databaseContainerImageName();
+        if (result == null || result.trim().isBlank()) {
+            result = database.getDockerImageName();
+        }
         return result;
     }
 
@@ -46,5 +46,27 @@ public @interface DatabaseContainerIntegrationTest {
 
     DatabaseScriptFiles databaseScriptFiles() default @DatabaseScriptFiles;
 
+    /**
+     * Defines how the data is reset between the test methods. With {@code SNAPSHOT}, the data set is only inserted once
+     * and the tables are restored from a snapshot within the database after each test. With {@code INCREMENTAL}, the data
+     * set is only inserted once and only the tables modified by the test are reloaded after each test.
+     * @return default value {@code CLEAN_INSERT}, the data set is inserted before and removed after each test.
+     */
+    DataIsolation dataIsolation() default DataIsolation.CLEAN_INSERT;
+
+    /**
+     * Configures the database for speed instead of durability (no synchronous writes to disk, data directory in memory).
+     * See {@link PerformanceProfile}.
+     * @return default value {@code true}, the performance profile is applied.
+     */
+    boolean performanceProfile() default true;
+
+    /**
+     * Use a database container shared by all test classes with the same database image. The test class gets its own
+     * database (a user for Oracle) within the container. See {@link SharedDatabaseServer}.
+     * @return default value {@code false}, the test class starts its own database container.
+     */
+    boolean sharedDatabase() default false;
+
     String jndiDatasourceName() default "java:jboss/datasources/defaultDataSource"; // Only for WildFly
 }
@@ -15,13 +15,16 @@
  */
 package be.atbash.testing.integration.database.jupiter;
 
+import be.atbash.testing.integration.ConfigurationException;
 import be.atbash.testing.integration.container.exception.UnexpectedException;
 import be.atbash.testing.integration.container.image.CustomBuildFile;
 import be.atbash.testing.integration.container.image.TestContext;
-import be.atbash.testing.integration.database.SupportedDatabase;
 import be.atbash.testing.integration.database.test.AbstractDatabaseContainerIntegrationTest;
 import be.atbash.testing.integration.jupiter.AbstractContainerIntegrationTestExtension;
 import be.atbash.testing.integration.jupiter.ContainerAdapterMetaData;
+import be.atbash.testing.integration.jupiter.DeploymentMode;
+import be.atbash.testing.integration.jupiter.RestClientCache;
+import org.dbunit.database.IDatabaseConnection;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.platform.commons.support.AnnotationSupport;
@@ -37,36 +40,47 @@ import java.util.List;
  */
 public class DatabaseContainerIntegrationTestExtension extends AbstractContainerIntegrationTestExtension {
 
-    private DatabaseTestcontainersController controller;
-
-    protected DatabaseContainerAdapterMetaData databaseMetaData;
-
     @Override
     public void beforeAll(ExtensionContext extensionContext) throws Exception {
+        RestClientCache.configureConnectionPool();
         Class<?> testClass = extensionContext.getRequiredTestClass();
         checkTestClass(testClass);
 
         DatabaseContainerIntegrationTest databaseContainerIntegrationTest = testClass.getAnnotation(DatabaseContainerIntegrationTest.class);
         CustomBuildFile customBuildFileAnnotation = testClass.getAnnotation(CustomBuildFile.class);
         List<Field> restClientFields = AnnotationSupport.findAnnotatedFields(testClass, RestClient.class);
-        metaData = ContainerAdapterMetaData.create(databaseContainerIntegrationTest.containerIntegrationTest(), restClientFields, customBuildFileAnnotation);
-        databaseMetaData = DatabaseContainerAdapterMetaData.create(databaseContainerIntegrationTest);
-
-        JdbcDatabaseContainer<?> jdbcDatabaseContainer = createDatabaseContainer();
+        ContainerAdapterMetaData metaData = ContainerAdapterMetaData.create(databaseContainerIntegrationTest.containerIntegrationTest(), restClientFields, customBuildFileAnnotation);
+        if (metaData.getDeploymentMode() == DeploymentMode.COPY) {
+            throw new ConfigurationException("The deploymentMode COPY is not supported for the Database integration test as the JDBC driver and datasource are added to the image");
+        }
+        if (metaData.isSharedContainer()) {
+            throw new ConfigurationException("The sharedContainer is not supported for the Database integration test, use sharedDatabase to share the database server");
+        }
+        DatabaseContainerAdapterMetaData databaseMetaData = DatabaseContainerAdapterMetaData.create(databaseContainerIntegrationTest);
 
         TestContext testContext = new TestContext();
         testContext.addInstance(metaData);
         testContext.addInstance(databaseMetaData);
 
-        controller = new DatabaseTestcontainersController(testClass, jdbcDatabaseContainer, databaseMetaData);
+        DatabaseTestcontainersController controller;
+        if (databaseContainerIntegrationTest.sharedDatabase()) {
+            if (databaseContainerIntegrationTest.databaseScriptFiles().schemaSnapshot()) {
+                throw new ConfigurationException("The schemaSnapshot is not supported together with sharedDatabase");
+            }
+            SharedDatabaseServer sharedServer = SharedDatabaseServer.getInstance(extensionContext, databaseMetaData, () -> createSharedDatabaseContainer(databaseMetaData));
+            controller = new DatabaseTestcontainersController(testClass, sharedServer, databaseMetaData);
+        } else {
+            controller = new DatabaseTestcontainersController(testClass, createDatabaseContainer(databaseMetaData), databaseMetaData);
+        }
+        storeState(extensionContext, metaData, controller);
         controller.config(metaData, testContext);
 
         controller.start();
     }
 
-    private JdbcDatabaseContainer<?> createDatabaseContainer() {
+    private JdbcDatabaseContainer<?> createDatabaseContainer(DatabaseContainerAdapterMetaData databaseMetaData) {
 
-        String databaseImageName = determineDatabaseImageName(databaseMetaData.getDatabaseContainerIntegrationTest(), databaseMetaData.getDatabase());
+        String databaseImageName = databaseMetaData.getDatabaseImageName();
         JdbcDatabaseContainer<?> jdbcDatabaseContainer;
         try {
             Class<?> databaseContainerClassName = Class.forName(databaseMetaData.getDatabase().getClassName());
@@ -81,34 +95,60 @@ public class DatabaseContainerIntegrationTestExtension extends AbstractContainer
         return jdbcDatabaseContainer;
     }
 
-    private String determineDatabaseImageName(DatabaseContainerIntegrationTest containerIntegrationTest, SupportedDatabase database) {
-        String result = containerIntegrationTest.databaseContainerImageName();
-        if (result == null || result.trim().isBlank()) {
-            result = database.getDockerImageName();
+    private JdbcDatabaseContainer<?> createSharedDatabaseContainer(DatabaseContainerAdapterMetaData databaseMetaData) {
+        JdbcDatabaseContainer<?> result = createDatabaseContainer(databaseMetaData);
+        if (databaseMetaData.getDatabaseContainerIntegrationTest().performanceProfile()) {
+            PerformanceProfile.configure(result, databaseMetaData.getDatabase(), false);
         }
         return result;
     }
 
     @Override
     public void afterAll(ExtensionContext extensionContext) throws Exception {
-        controller.stop();
+        getController(extensionContext).stop();
     }
 
     @Override
     public void afterEach(ExtensionContext extensionContext) throws Exception {
+        if (isConcurrentTestMethod(extensionContext)) {
+            // Rejected in beforeEach, the other test methods still use WireMock and the data.
+            return;
+        }
+        DatabaseTestcontainersController controller = getController(extensionContext);
         controller.resetWireMock();
         controller.clearData();
     }
 
     @Override
     public void postProcessTestInstance(Object testInstance, ExtensionContext extensionContext) throws Exception {
+        DatabaseTestcontainersController controller = getController(extensionContext);
         controller.injectInstances(testInstance);
-        prepareClients(testInstance, controller.getApplicationTestContainer());
+        prepareClients(testInstance, getMetaData(extensionContext), controller.getApplicationTestContainer(), false);
     }
 
     @Override
     public void beforeEach(ExtensionContext context) throws Exception {
-        controller.uploadData();
+        if (isConcurrentTestMethod(context)) {
+            throw new ConfigurationException("The concurrent execution of the test methods is not supported for the Database integration test as the data is reset for each test");
+        }
+        getController(context).uploadData();
+    }
+
+    @Override
+    protected Object findParameterValue(Class<?> type, ExtensionContext extensionContext) {
+        Object result = super.findParameterValue(type, extensionContext);
+        DatabaseTestcontainersController controller = getController(extensionContext);
+        if (result == null && controller != null) {
+            result = valueWhenAssignable(type, IDatabaseConnection.class, controller.getConnection());
+            if (result == null) {
+                result = valueWhenAssignable(type, JdbcDatabaseContainer.class, controller.getDatabaseContainer());
+            }
+        }
+        return result;
+    }
+
+    private DatabaseTestcontainersController getController(ExtensionContext extensionContext) {
+        return getController(extensionContext, DatabaseTestcontainersController.class);
     }
 
     @Override
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.jupiter;
+
+/**
+ * The database (or schema for Oracle) of a test class within the {@link SharedDatabaseServer}.
+ */
+public class DatabaseLease {
+
+    private final String name;
+    private final String username;
+    private final String password;
+    private final String jdbcUrl;
+    private final String internalJdbcUrl;
+
+    DatabaseLease(String name, String username, String password, String jdbcUrl, String internalJdbcUrl) {
+        this.name = name;
+        this.username = username;
+        this.password = password;
+        this.jdbcUrl = jdbcUrl;
+        this.internalJdbcUrl = internalJdbcUrl;
+    }
+
+    /**
+     * The name of the database, or the schema for Oracle.
+     */
+    public String getName() {
+        return name;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * The JDBC URL to access the database from the test.
+     */
+    public String getJdbcUrl() {
+        return jdbcUrl;
+    }
+
+    /**
+     * The JDBC URL to access the database from the other containers on the network.
+     */
+    public String getInternalJdbcUrl() {
+        return internalJdbcUrl;
+    }
+}
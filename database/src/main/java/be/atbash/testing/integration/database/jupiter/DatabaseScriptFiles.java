@@ -31,8 +31,35 @@ public @interface DatabaseScriptFiles {
     String createTables() default "create-tables.sql";
 
     /**
-     * File name containing the Excel file to initialize the test data. xls and xlsx versions supported.
+     * File name containing the Excel file to initialize the test data. xls and xlsx versions supported. The format
+     * is determined by the extension, also DBUnit flat XML files (xml) and a directory with CSV files (no extension) are supported.
      * @return default value {@code data.xls} or user defined value.
      */
     String initData() default "data.xls";
+
+    /**
+     * Execute the independent statements of the {@code createTables} script concurrently, see {@link ParallelScriptExecutor}.
+     * @return default value {@code false}, the statements are executed one after the other.
+     */
+    boolean parallelScript() default false;
+
+    /**
+     * Insert the data with the bulk loader of the database (COPY for PostgreSQL, multi row INSERT for MySQL and MariaDB
+     * and JDBC batching for Oracle) instead of a statement for each row by DBUnit.
+     * @return default value {@code false}, the data is inserted by DBUnit.
+     */
+    boolean bulkLoad() default false;
+
+    /**
+     * Keep a local image of the database container after the execution of the {@code createTables} script. Next test
+     * runs start the database from this image and skip the script, until the script or the database image changes.
+     * @return default value {@code false}, the script is executed for each test class.
+     */
+    boolean schemaSnapshot() default false;
+
+    /**
+     * Insert and delete the tables of the data set concurrently, grouped by their foreign keys. See {@link ParallelDataSetLoader}.
+     * @return default value {@code false}, the tables are handled one after the other.
+     */
+    boolean parallelLoad() default false;
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.jupiter;
+
+import be.atbash.testing.integration.database.connection.DatabaseConnectionPool;
+import be.atbash.testing.integration.database.exception.DataScriptException;
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Snapshot of the tables of the data set, kept in tables within the database itself. Restoring the snapshot
+ * is done with a DELETE and an INSERT ... SELECT statement for each table so that no data needs to be transferred
+ * between the test and the database.
+ */
+public class DatabaseSnapshot {
+
+    private static final String SNAPSHOT_PREFIX = "atbash_";
+
+    private final DatabaseConnectionPool connectionPool;
+
+    // In the order of the data set, so that foreign keys are respected.
+    private final List<String> tableNames;
+
+    public DatabaseSnapshot(DatabaseConnectionPool connectionPool, IDataSet dataSet) {
+        this.connectionPool = connectionPool;
+        try {
+            this.tableNames = Arrays.asList(dataSet.getTableNames());
+        } catch (DataSetException e) {
+            throw new DataScriptException("Exception during retrieval of the tables of the data set", e);
+        }
+    }
+
+    /**
+     * Create the snapshot of the current content of the tables.
+     */
+    public void create() {
+        List<String> statements = new ArrayList<>();
+        for (String tableName : tableNames) {
+            statements.add(String.format("CREATE TABLE %s AS SELECT * FROM %s", snapshotName(tableName), tableName));
+        }
+        execute(statements);
+    }
+
+    /**
+     * Restore the content of the tables from the snapshot.
+     */
+    public void restore() {
+        List<String> statements = new ArrayList<>();
+        List<String> reversed = new ArrayList<>(tableNames);
+        Collections.reverse(reversed);
+        for (String tableName : reversed) {
+            statements.add(String.format("DELETE FROM %s", tableName));
+        }
+        for (String tableName : tableNames) {
+            statements.add(String.format("INSERT INTO %s SELECT * FROM %s", tableName, snapshotName(tableName)));
+        }
+        execute(statements);
+    }
+
+    private static String snapshotName(String tableName) {
+        // Keep the schema when the table name is qualified.
+        int idx = tableName.lastIndexOf('.');
+        return tableName.substring(0, idx + 1) + SNAPSHOT_PREFIX + tableName.substring(idx + 1);
+    }
+
+    private void execute(List<String> statements) {
+        try {
+            connectionPool.execute(connection -> {
+                try (Statement statement = connection.getConnection().createStatement()) {
+                    for (String sql : statements) {
+                        statement.addBatch(sql);
+                    }
+                    statement.executeBatch();
+                }
+            });
+        } catch (DatabaseUnitException | SQLException e) {
+            throw new DataScriptException("Exception during execution of the snapshot statements", e);
+        }
+    }
+}
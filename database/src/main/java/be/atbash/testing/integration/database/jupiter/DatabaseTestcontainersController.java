@@ -18,75 +18,121 @@ package be.atbash.testing.integration.database.jupiter;
 import be.atbash.testing.integration.container.AbstractIntegrationContainer;
 import be.atbash.testing.integration.container.exception.UnexpectedException;
 import be.atbash.testing.integration.container.image.TestContext;
+import be.atbash.testing.integration.database.bulk.IBulkLoader;
+import be.atbash.testing.integration.database.connection.DatabaseConnectionPool;
+import be.atbash.testing.integration.database.connection.IDatabaseConnectionProvider;
+import be.atbash.testing.integration.database.dataset.DataSetCache;
 import be.atbash.testing.integration.database.exception.DataScriptException;
 import be.atbash.testing.integration.database.exception.DatabaseScriptException;
 import be.atbash.testing.integration.database.exception.FileNotFoundException;
 import be.atbash.testing.integration.jupiter.ContainerAdapterMetaData;
+import be.atbash.testing.integration.jupiter.ContainerStartGraph;
 import be.atbash.testing.integration.jupiter.TestcontainersController;
 import org.dbunit.DatabaseUnitException;
 import org.dbunit.database.IDatabaseConnection;
-import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
-import org.dbunit.dataset.excel.XlsDataSet;
 import org.dbunit.operation.DatabaseOperation;
+import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.JdbcDatabaseContainer;
-import org.testcontainers.containers.Network;
 import org.testcontainers.ext.ScriptUtils;
 import org.testcontainers.jdbc.JdbcDatabaseDelegate;
 
 import javax.script.ScriptException;
 import java.io.IOException;
-import java.lang.reflect.Field;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.sql.SQLException;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 public class DatabaseTestcontainersController extends TestcontainersController {
 
+    // Node in the start graph for the creation of tables and reading of the data set.
+    private static final Object DATABASE_PREPARATION = new Object();
+
+    // Host name of the database container within the network of the test class.
+    private static final String DATABASE_HOST_NAME = "db";
+
     private final JdbcDatabaseContainer<?> jdbcDatabaseContainer;
 
     private final DatabaseContainerAdapterMetaData databaseContainerMetaData;
 
+    private final SharedDatabaseServer sharedServer;
+    private DatabaseLease lease;
+
     private IDataSet dataSet;
 
+    private DatabaseConnectionPool connectionPool;
+
+    // The connection injected in the test class, borrowed from the pool for the entire test class.
     private IDatabaseConnection connection;
 
-    private Field databaseConnectionField;
-    private Field databaseContainerField;
+    private DatabaseSnapshot snapshot;
+    private DirtyTableTracker tracker;
+    private SchemaSnapshot schemaSnapshot;
+    private ParallelDataSetLoader parallelLoader;
 
     public DatabaseTestcontainersController(Class<?> testClass, JdbcDatabaseContainer<?> jdbcDatabaseContainer
             , DatabaseContainerAdapterMetaData databaseContainerMetaData) {
         super(testClass);
         this.jdbcDatabaseContainer = jdbcDatabaseContainer;
         this.databaseContainerMetaData = databaseContainerMetaData;
+        this.sharedServer = null;
+        jdbcDatabaseContainer.withNetworkAliases(DATABASE_HOST_NAME);
+    }
+
+    /**
+     * The test class uses its own database within the shared database server.
+     */
+    public DatabaseTestcontainersController(Class<?> testClass, SharedDatabaseServer sharedServer
+            , DatabaseContainerAdapterMetaData databaseContainerMetaData) {
+        super(testClass);
+        this.jdbcDatabaseContainer = sharedServer.getContainer();
+        this.databaseContainerMetaData = databaseContainerMetaData;
+        this.sharedServer = sharedServer;
     }
 
     @Override
     public void config(ContainerAdapterMetaData metaData, TestContext testContext) {
         super.config(metaData, testContext);  // As it prepares the 'applicationTestContainer'
-        String dbHostName = "db";
-
-        jdbcDatabaseContainer.setNetwork(Network.SHARED);
-        jdbcDatabaseContainer.withNetworkAliases(dbHostName);
-
-        // We define ourselves the JDBC URL as testContainers give the version to access it 'outside' the shared
-        // network. But we need to URL to access it from 'inside' the network.
+        if (sharedServer != null) {
+            // The shared container is already configured, only the database of this test class is defined.
+            lease = sharedServer.newLease();
+            defineDatabaseEnvironment(lease.getInternalJdbcUrl(), lease.getUsername(), lease.getPassword());
+            return;
+        }
+        // We define ourselves the JDBC URL as testContainers give the version to access it 'outside' the
+        // network. But we need to URL to access it from 'inside' the network of the test class.
         String jdbcUrl = String.format(databaseContainerMetaData.getDatabase().getJdbcURLTemplate(),
-                dbHostName, jdbcDatabaseContainer.getExposedPorts().get(0));
+                DATABASE_HOST_NAME, jdbcDatabaseContainer.getExposedPorts().get(0));
+
+        defineDatabaseEnvironment(jdbcUrl, jdbcDatabaseContainer.getUsername(), jdbcDatabaseContainer.getPassword());
 
         DatabaseContainerIntegrationTest containerIntegrationTest = databaseContainerMetaData.getDatabaseContainerIntegrationTest();
 
-        AbstractIntegrationContainer<?> applicationContainer = getApplicationTestContainer();
-        applicationContainer.withEnv(containerIntegrationTest.environmentParametersForDatabase().jdbcURL(), jdbcUrl);
-        applicationContainer.withEnv(containerIntegrationTest.environmentParametersForDatabase().username(), jdbcDatabaseContainer.getUsername());
-        applicationContainer.withEnv(containerIntegrationTest.environmentParametersForDatabase().password(), jdbcDatabaseContainer.getPassword());
+        boolean schemaSnapshotRequested = containerIntegrationTest.databaseScriptFiles().schemaSnapshot();
+        if (containerIntegrationTest.performanceProfile()) {
+            PerformanceProfile.configure(jdbcDatabaseContainer, databaseContainerMetaData.getDatabase(), schemaSnapshotRequested);
+        }
+        if (schemaSnapshotRequested) {
+            String createTables = containerIntegrationTest.databaseScriptFiles().createTables();
+            schemaSnapshot = new SchemaSnapshot(databaseContainerMetaData.getDatabase(), databaseContainerMetaData.getDatabaseImageName()
+                    , getClassPathFileContent(createTables));
+            schemaSnapshot.configure(jdbcDatabaseContainer);
+        }
+    }
+
+    private void defineDatabaseEnvironment(String jdbcUrl, String username, String password) {
+        EnvironmentParametersForDatabase environmentParameters = databaseContainerMetaData.getDatabaseContainerIntegrationTest().environmentParametersForDatabase();
 
+        AbstractIntegrationContainer<?> applicationContainer = getApplicationTestContainer();
+        applicationContainer.withEnv(environmentParameters.jdbcURL(), jdbcUrl);
+        applicationContainer.withEnv(environmentParameters.username(), username);
+        applicationContainer.withEnv(environmentParameters.password(), password);
     }
 
     @Override
@@ -94,117 +140,197 @@ public class DatabaseTestcontainersController extends TestcontainersController {
         showContainerNames(jdbcDatabaseContainer.getImage().toString());
         long start = System.currentTimeMillis();
 
-        CountDownLatch startSignal = new CountDownLatch(1);
-        AtomicBoolean failure = new AtomicBoolean(false);
-        try {
-            manageStartDatabaseContainer(startSignal, failure);
+        startContainers();
 
-            startContainers();
-            awaitStartup(startSignal);
+        // We can only access the Database container after it is started.
+        // But this start() s part of beforeAll and thus before PostProcessTestInstance needs it.
+        IDatabaseConnectionProvider connectionProvider = databaseContainerMetaData.getDatabase().getConnectionSupplier();
+        if (sharedServer != null) {
+            connectionPool = new DatabaseConnectionPool(() -> connectionProvider.create(sharedServer.createConnection(lease), lease.getName()));
+        } else {
+            connectionPool = new DatabaseConnectionPool(() -> connectionProvider.create(jdbcDatabaseContainer));
+        }
+        connection = connectionPool.borrow();
 
-            // We can only access the Database container after it is started.
-            // But this start() s part of beforeAll and thus before PostProcessTestInstance needs it.
-            connection = databaseContainerMetaData.getDatabase().getConnectionSupplier().create(jdbcDatabaseContainer);
+        LOGGER.info(String.format("All containers started in %s ms", System.currentTimeMillis() - start));
+    }
 
-        } catch (Throwable e) {
-            // The next statement handles the error.
-        }
-        if (failure.get()) {
-            // Set by the callback in case of error.  This stops the execution of the test
-            throw new AssertionError("Test aborted");
+    @Override
+    protected void defineStartGraph(ContainerStartGraph graph) {
+        if (sharedServer != null) {
+            graph.addNode(jdbcDatabaseContainer, "shared database", this::startSharedServer, Collections.emptyList());
+        } else {
+            graph.addContainer(jdbcDatabaseContainer, "database", Collections.emptyList());
         }
+        graph.addNode(DATABASE_PREPARATION, "database scripts", this::prepareDatabase, List.of(jdbcDatabaseContainer));
+        super.defineStartGraph(graph);
+    }
 
-        LOGGER.info(String.format("All containers started in %s ms", System.currentTimeMillis() - start));
+    private void startSharedServer() {
+        sharedServer.start();
+        sharedServer.connect(getNetwork());
     }
 
-    private static void awaitStartup(CountDownLatch startSignal) {
-        try {
-            boolean containerStarted = startSignal.await(1, TimeUnit.MINUTES);
-            if (!containerStarted) {
-                throw new AssertionError("Test aborted since Database container does not start within a reasonable time");
+    @Override
+    protected Map<GenericContainer<?>, String> defineNetworkContainers() {
+        Map<GenericContainer<?>, String> result = super.defineNetworkContainers();
+        if (sharedServer == null) {
+            // The shared database container is connected to the network when it is running.
+            result.put(jdbcDatabaseContainer, "database");
+        }
+        return result;
+    }
+
+    @Override
+    protected List<Object> defineDependencies(GenericContainer<?> container) {
+        List<Object> result = super.defineDependencies(container);
+        if (container == getApplicationTestContainer()) {
+            // The image of the application is built while the database starts, the application itself waits for the database.
+            result.add(jdbcDatabaseContainer);
+            if (sharedServer != null) {
+                // The database of the test class must exist before the application connects to it.
+                result.add(DATABASE_PREPARATION);
             }
-        } catch (InterruptedException e) {
-            throw new UnexpectedException("Database Container start interrupted", e);
         }
+        if (!databaseContainerMetaData.getDatabaseContainerIntegrationTest().databaseContainerStartInParallel()) {
+            // Database must be ready before the other containers are started.
+            result.add(DATABASE_PREPARATION);
+        }
+        return result;
     }
 
+    @Override
     public void injectInstances(Object testInstance) {
+        super.injectInstances(testInstance);
         Class<?> testClass = testInstance.getClass();
         try {
-            databaseConnectionField = testClass.getField("databaseConnection");
-            databaseConnectionField.set(null, connection);
-
-            databaseContainerField = testClass.getField("databaseContainer");
-            databaseContainerField.set(null, jdbcDatabaseContainer);
+            testClass.getField("databaseConnection").set(testInstance, connection);
+            testClass.getField("databaseContainer").set(testInstance, jdbcDatabaseContainer);
         } catch (Exception e) {
             throw new UnexpectedException("Unexpected exception happened during injection of istances in database test fields", e);
         }
     }
 
-    private void manageStartDatabaseContainer(CountDownLatch startSignal, AtomicBoolean failure) {
-        FailureCallback callback = () -> failure.set(true);
+    /**
+     * The connection, reserved for the test class, that is injected in the test instance.
+     */
+    public IDatabaseConnection getConnection() {
+        return connection;
+    }
 
-        if (databaseContainerMetaData.getDatabaseContainerIntegrationTest().databaseContainerStartInParallel()) {
-            Runnable task = () -> startAndPrepareDatabaseContainer(startSignal, callback);
-            new Thread(task).start();
-        } else {
-            startAndPrepareDatabaseContainer(startSignal, callback);
-        }
+    public JdbcDatabaseContainer<?> getDatabaseContainer() {
+        return jdbcDatabaseContainer;
     }
 
-    private void startAndPrepareDatabaseContainer(CountDownLatch startSignal, FailureCallback callback) {
+    private void prepareDatabase() {
         try {
-            jdbcDatabaseContainer.start();
+            if (schemaSnapshot == null || !schemaSnapshot.isAvailable()) {
+                createTables();
+            }
 
-            JdbcDatabaseDelegate delegate = new JdbcDatabaseDelegate(jdbcDatabaseContainer, "");
+            String dataFile = getDatabaseScriptFiles().initData();
+            URL testDataFile = DatabaseTestcontainersController.class.getClassLoader().getResource(dataFile);
+            if (testDataFile == null) {
+                throw new FileNotFoundException(String.format("The file with name '%s' is not found on the class path", dataFile));
+            }
 
-            String createTables = databaseContainerMetaData.getDatabaseContainerIntegrationTest().databaseScriptFiles().createTables();
-            String script = getClassPathFileContent(createTables);
+            dataSet = DataSetCache.getDataSet(testDataFile);
 
+        } catch (RuntimeException e) {
+            throw new AssertionError("Test aborted due to :" + e.getMessage(), e);
+        }
+    }
+
+    private void createTables() {
+        DatabaseScriptFiles databaseScriptFiles = getDatabaseScriptFiles();
+        String createTables = databaseScriptFiles.createTables();
+        String script = getClassPathFileContent(createTables);
+
+        if (sharedServer != null) {
+            lease = sharedServer.create(lease, createTables, script);
+            return;
+        }
+        if (databaseScriptFiles.parallelScript()) {
+            new ParallelScriptExecutor(jdbcDatabaseContainer).execute(createTables, script);
+        } else {
+            JdbcDatabaseDelegate delegate = new JdbcDatabaseDelegate(jdbcDatabaseContainer, "");
             try {
 
                 ScriptUtils.executeDatabaseScript(delegate, createTables, script);
             } catch (ScriptException e) {
                 throw new DatabaseScriptException("failure during execution of script : " + script, e);
             }
+        }
 
-            String dataFile = databaseContainerMetaData.getDatabaseContainerIntegrationTest().databaseScriptFiles().initData();
-            URL testDataFile = DatabaseTestcontainersController.class.getClassLoader().getResource(dataFile);
-            if (testDataFile == null) {
-                throw new FileNotFoundException(String.format("The file with name '%s' is not found on the class path", dataFile));
-            }
-
-            createDataSet(testDataFile);
-
-        } catch (Throwable e) {  // We really want to have all exceptions captured here for proper Thread handling.
-            // Report to the calling context that there was a problem.
-            // Since this method can be executed in a Thread, throwing an Exception is not enough.
-            callback.failed();
-            throw new AssertionError("Test aborted due to :" + e.getMessage());
-        } finally {
-            // Always signal the method is finished.
-            startSignal.countDown();  // Startup done
+        if (schemaSnapshot != null) {
+            schemaSnapshot.create(jdbcDatabaseContainer);
         }
     }
 
-    private void createDataSet(URL testDataFile) {
-        try {
-            dataSet = new XlsDataSet(Paths.get(testDataFile.toURI()).toFile());
-        } catch (IOException | DataSetException | URISyntaxException e) {
-            throw new UnexpectedException("Unexpected exception happened during creation of Dataset from " + testDataFile, e);
+    public void uploadData() {
+        if (isSnapshotIsolation()) {
+            if (snapshot == null) {
+                // The data set is only inserted once, for the first test.
+                insertDataSet();
+                snapshot = new DatabaseSnapshot(connectionPool, dataSet);
+                snapshot.create();
+            }
+            return;
         }
+        if (getDataIsolation() == DataIsolation.INCREMENTAL) {
+            if (tracker == null) {
+                // The data set is only inserted once, for the first test.
+                tracker = new DirtyTableTracker(connectionPool, databaseContainerMetaData.getDatabase(), dataSet);
+                tracker.install();
+                insertDataSet();
+                tracker.clear();
+            }
+            return;
+        }
+        insertDataSet();
     }
 
-    public void uploadData() {
+    private void insertDataSet() {
+        if (getDatabaseScriptFiles().parallelLoad()) {
+            getParallelLoader().insert();
+            return;
+        }
         try {
 
-            DatabaseOperation.CLEAN_INSERT.execute(connection, dataSet);
+            connectionPool.execute(dataConnection -> {
+                if (getDatabaseScriptFiles().bulkLoad()) {
+                    DatabaseOperation.DELETE_ALL.execute(dataConnection, dataSet);
+                    databaseContainerMetaData.getDatabase().getBulkLoader().load(dataConnection, dataSet);
+                } else {
+                    DatabaseOperation.CLEAN_INSERT.execute(dataConnection, dataSet);
+                }
+            });
 
         } catch (DatabaseUnitException | SQLException e) {
             throw new DataScriptException("Exception during execution of data insert", e);
         }
     }
 
+    private ParallelDataSetLoader getParallelLoader() {
+        if (parallelLoader == null) {
+            IBulkLoader bulkLoader = getDatabaseScriptFiles().bulkLoad() ? databaseContainerMetaData.getDatabase().getBulkLoader() : null;
+            parallelLoader = new ParallelDataSetLoader(connectionPool, dataSet, bulkLoader);
+        }
+        return parallelLoader;
+    }
+
+    private DatabaseScriptFiles getDatabaseScriptFiles() {
+        return databaseContainerMetaData.getDatabaseContainerIntegrationTest().databaseScriptFiles();
+    }
+
+    private boolean isSnapshotIsolation() {
+        return getDataIsolation() == DataIsolation.SNAPSHOT;
+    }
+
+    private DataIsolation getDataIsolation() {
+        return databaseContainerMetaData.getDatabaseContainerIntegrationTest().dataIsolation();
+    }
+
     private String getClassPathFileContent(String resourceName) {
         URL resource = DatabaseTestcontainersController.class.getClassLoader().getResource(resourceName);
         if (resource == null) {
@@ -220,15 +346,22 @@ public class DatabaseTestcontainersController extends TestcontainersController {
         return script;
     }
 
-    @FunctionalInterface
-    public interface FailureCallback {
-        void failed();
-    }
-
     public void clearData() {
+        if (snapshot != null) {
+            snapshot.restore();
+            return;
+        }
+        if (tracker != null) {
+            tracker.reset();
+            return;
+        }
+        if (getDatabaseScriptFiles().parallelLoad()) {
+            getParallelLoader().delete();
+            return;
+        }
         try {
 
-            DatabaseOperation.DELETE_ALL.execute(connection, dataSet);
+            connectionPool.execute(dataConnection -> DatabaseOperation.DELETE_ALL.execute(dataConnection, dataSet));
 
         } catch (DatabaseUnitException | SQLException e) {
             throw new DataScriptException("Exception during execution of data delete", e);
@@ -238,18 +371,32 @@ public class DatabaseTestcontainersController extends TestcontainersController {
     }
 
     @Override
-    public void stopContainers() throws IllegalAccessException {
-        super.stopContainers();
+    protected List<GenericContainer<?>> defineContainersToStop() {
+        List<GenericContainer<?>> result = super.defineContainersToStop();
+        if (sharedServer == null) {
+            // The shared database container is stopped at the end of the test run.
+            result.add(jdbcDatabaseContainer);
+        }
+        return result;
+    }
 
+    @Override
+    public void stopContainers() throws IllegalAccessException {
         try {
-            connection.close();
-        } catch (SQLException e) {
-            LOGGER.warn("Unexpected SQLException during close of the connection " + e.getMessage());
+            if (parallelLoader != null) {
+                parallelLoader.close();
+            }
+            // Not created when the start of the containers failed.
+            if (connectionPool != null) {
+                connectionPool.close();
+            }
+            if (sharedServer != null && getNetwork() != null) {
+                // Otherwise the network of the test class can't be removed.
+                sharedServer.disconnect(getNetwork());
+            }
+        } finally {
+            // The database container is stopped together with the other containers.
+            super.stopContainers();
         }
-
-        jdbcDatabaseContainer.stop();
-
-        databaseConnectionField.set(null, null);
-        databaseContainerField.set(null, null);
     }
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.jupiter;
+
+import be.atbash.testing.integration.database.SupportedDatabase;
+import be.atbash.testing.integration.database.connection.DatabaseConnectionPool;
+import be.atbash.testing.integration.database.exception.DataScriptException;
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.FilteredDataSet;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.operation.DatabaseOperation;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps track of the tables of the data set that are modified by a test. Triggers on each table record the table
+ * name in a tracking table so that after the test only the modified tables, and the tables that refer to them
+ * through a foreign key, are cleared and reloaded from the data set.
+ */
+public class DirtyTableTracker {
+
+    private static final String TRACKING_TABLE = "atbash_dirty_tables";
+    private static final String TRIGGER_PREFIX = "atbash_dirty_";
+
+    private final DatabaseConnectionPool connectionPool;
+    private final SupportedDatabase database;
+    private final IDataSet dataSet;
+
+    // In the order of the data set, so that foreign keys are respected.
+    private final List<String> tableNames;
+
+    public DirtyTableTracker(DatabaseConnectionPool connectionPool, SupportedDatabase database, IDataSet dataSet) {
+        this.connectionPool = connectionPool;
+        this.database = database;
+        this.dataSet = dataSet;
+        try {
+            this.tableNames = Arrays.asList(dataSet.getTableNames());
+        } catch (DataSetException e) {
+            throw new DataScriptException("Exception during retrieval of the tables of the data set", e);
+        }
+    }
+
+    /**
+     * Create the tracking table and the triggers on all tables of the data set.
+     */
+    public void install() {
+        List<String> statements = new ArrayList<>();
+        statements.add(String.format("CREATE TABLE %s (table_name VARCHAR(128) PRIMARY KEY)", TRACKING_TABLE));
+        if (database == SupportedDatabase.POSTGRES) {
+            statements.add(String.format("CREATE OR REPLACE FUNCTION %smark() RETURNS trigger AS $$ BEGIN " +
+                    "INSERT INTO %s (table_name) VALUES (TG_TABLE_NAME) ON CONFLICT DO NOTHING; RETURN NULL; END; $$ LANGUAGE plpgsql", TRIGGER_PREFIX, TRACKING_TABLE));
+        }
+        for (String tableName : tableNames) {
+            statements.addAll(defineTriggers(tableName));
+        }
+        execute(statements);
+    }
+
+    private List<String> defineTriggers(String tableName) {
+        String triggerName = TRIGGER_PREFIX + TableNames.unqualified(tableName);
+        switch (database) {
+            case POSTGRES:
+                // Statement level trigger, only fired once for each statement.
+                return Collections.singletonList(String.format("CREATE TRIGGER %s AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON %s " +
+                        "FOR EACH STATEMENT EXECUTE PROCEDURE %smark()", triggerName, tableName, TRIGGER_PREFIX));
+            case MYSQL:
+            case MARIADB:
+                // Only row level triggers and one trigger for each event.
+                return Arrays.stream(new String[]{"INSERT", "UPDATE", "DELETE"})
+                        .map(event -> String.format("CREATE TRIGGER %s_%s AFTER %s ON %s FOR EACH ROW " +
+                                        "INSERT IGNORE INTO %s (table_name) VALUES ('%s')",
+                                triggerName, event.charAt(0), event, tableName, TRACKING_TABLE, TableNames.unqualified(tableName)))
+                        .collect(Collectors.toList());
+            case ORACLE_XE:
+                return Collections.singletonList(String.format("CREATE OR REPLACE TRIGGER %s AFTER INSERT OR UPDATE OR DELETE ON %s BEGIN " +
+                                "MERGE INTO %s d USING (SELECT '%s' AS table_name FROM dual) s ON (d.table_name = s.table_name) " +
+                                "WHEN NOT MATCHED THEN INSERT (table_name) VALUES (s.table_name); END;",
+                        triggerName, tableName, TRACKING_TABLE, TableNames.unqualified(tableName)));
+            default:
+                throw new IllegalArgumentException(String.format("Value '%s' not supported for DirtyTableTracker", database));
+        }
+    }
+
+    /**
+     * Reload the tables that are modified since the last reset, and the tables referring to them, from the data set.
+     */
+    public void reset() {
+        IDatabaseConnection connection = connectionPool.borrow();
+        try {
+            reset(connection);
+        } finally {
+            connectionPool.release(connection);
+        }
+    }
+
+    private void reset(IDatabaseConnection connection) {
+        Set<String> dirtyTables = collectDirtyTables(connection);
+        if (dirtyTables.isEmpty()) {
+            return;
+        }
+        addReferringTables(connection, dirtyTables);
+
+        String[] tablesToReload = tableNames.stream()
+                .filter(tableName -> dirtyTables.contains(TableNames.normalize(tableName)))
+                .toArray(String[]::new);
+        try {
+            DatabaseOperation.CLEAN_INSERT.execute(connection, new FilteredDataSet(tablesToReload, dataSet));
+        } catch (DatabaseUnitException | SQLException e) {
+            throw new DataScriptException("Exception during reload of the modified tables", e);
+        }
+        // The reload itself fires the triggers.
+        execute(connection, Collections.singletonList("DELETE FROM " + TRACKING_TABLE));
+    }
+
+    /**
+     * Forget all recorded modifications.
+     */
+    public void clear() {
+        execute(Collections.singletonList("DELETE FROM " + TRACKING_TABLE));
+    }
+
+    private static Set<String> collectDirtyTables(IDatabaseConnection connection) {
+        Set<String> result = new HashSet<>();
+        try (Statement statement = connection.getConnection().createStatement();
+             ResultSet rs = statement.executeQuery("SELECT table_name FROM " + TRACKING_TABLE)) {
+            while (rs.next()) {
+                result.add(TableNames.normalize(rs.getString(1)));
+            }
+        } catch (SQLException e) {
+            throw new DataScriptException("Exception during retrieval of the modified tables", e);
+        }
+        return result;
+    }
+
+    private void addReferringTables(IDatabaseConnection connection, Set<String> dirtyTables) {
+        // Rows of a table referring to a reloaded table must be removed first, so those tables are reloaded too.
+        Map<String, String> dataSetTables = tableNames.stream()
+                .collect(Collectors.toMap(TableNames::normalize, tableName -> tableName, (t1, t2) -> t1));
+        Deque<String> toInspect = new ArrayDeque<>(dirtyTables);
+        try {
+            DatabaseMetaData metaData = connection.getConnection().getMetaData();
+            while (!toInspect.isEmpty()) {
+                String tableName = dataSetTables.get(toInspect.pop());
+                if (tableName == null) {
+                    continue;
+                }
+                try (ResultSet rs = metaData.getExportedKeys(null, connection.getSchema(), TableNames.toMetaDataName(metaData, tableName))) {
+                    while (rs.next()) {
+                        String referring = TableNames.normalize(rs.getString("FKTABLE_NAME"));
+                        if (dirtyTables.add(referring)) {
+                            toInspect.push(referring);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataScriptException("Exception during retrieval of the foreign keys", e);
+        }
+    }
+
+    private void execute(List<String> statements) {
+        IDatabaseConnection connection = connectionPool.borrow();
+        try {
+            execute(connection, statements);
+        } finally {
+            connectionPool.release(connection);
+        }
+    }
+
+    private static void execute(IDatabaseConnection connection, List<String> statements) {
+        try (Statement statement = connection.getConnection().createStatement()) {
+            for (String sql : statements) {
+                statement.addBatch(sql);
+            }
+            statement.executeBatch();
+        } catch (SQLException e) {
+            throw new DataScriptException("Exception during execution of the change tracking statements", e);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.jupiter;
+
+import be.atbash.testing.integration.database.bulk.IBulkLoader;
+import be.atbash.testing.integration.database.connection.DatabaseConnectionPool;
+import be.atbash.testing.integration.database.exception.DataScriptException;
+import be.atbash.testing.integration.jupiter.ContainerLifecycleExecutor;
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.operation.DatabaseOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Inserts and deletes the tables of the data set concurrently. The tables are grouped in levels according to their
+ * foreign keys: a table only refers to tables of a lower level. The tables within a level are handled concurrently,
+ * each over its own connection of the pool, inserts from the lowest level up and deletes from the highest level down.
+ * The levels are determined once from the database metadata. The tables are handled by threads of the loader itself,
+ * as many as connections in the pool, so that they don't compete with the start and stop of the containers.
+ */
+public class ParallelDataSetLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelDataSetLoader.class);
+
+    private final DatabaseConnectionPool connectionPool;
+    private final IDataSet dataSet;
+    private final IBulkLoader bulkLoader;
+    private final ExecutorService executor;
+
+    private List<List<ITable>> levels;
+
+    /**
+     * @param connectionPool The pool for the connections to the database.
+     * @param dataSet        The data set.
+     * @param bulkLoader     The bulk loader used for the insert or null when the insert is done by DBUnit.
+     */
+    public ParallelDataSetLoader(DatabaseConnectionPool connectionPool, IDataSet dataSet, IBulkLoader bulkLoader) {
+        this.connectionPool = connectionPool;
+        this.dataSet = dataSet;
+        this.bulkLoader = bulkLoader;
+        this.executor = Executors.newFixedThreadPool(connectionPool.getMaximumSize(), new LoaderThreadFactory());
+    }
+
+    /**
+     * Remove the rows of all tables and insert the data set.
+     */
+    public void insert() {
+        delete();
+        for (List<ITable> level : getLevels()) {
+            forEach(level, this::insertTable);
+        }
+    }
+
+    /**
+     * Remove the rows of all tables of the data set.
+     */
+    public void delete() {
+        List<List<ITable>> reversed = new ArrayList<>(getLevels());
+        Collections.reverse(reversed);
+        for (List<ITable> level : reversed) {
+            forEach(level, this::deleteTable);
+        }
+    }
+
+    /**
+     * Stop the threads of the loader.
+     */
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void forEach(List<ITable> tables, Consumer<ITable> action) {
+        CompletableFuture<?>[] futures = tables.stream()
+                .map(table -> CompletableFuture.runAsync(() -> action.accept(table), executor))
+                .toArray(CompletableFuture[]::new);
+        ContainerLifecycleExecutor.join(CompletableFuture.allOf(futures));
+    }
+
+    private void insertTable(ITable table) {
+        try {
+            connectionPool.execute(connection -> {
+                if (bulkLoader != null) {
+                    bulkLoader.load(connection, new DefaultDataSet(table));
+                } else {
+                    DatabaseOperation.INSERT.execute(connection, new DefaultDataSet(table));
+                }
+            });
+        } catch (DatabaseUnitException | SQLException e) {
+            throw new DataScriptException("Exception during execution of data insert for table " + table.getTableMetaData().getTableName(), e);
+        }
+    }
+
+    private void deleteTable(ITable table) {
+        try {
+            connectionPool.execute(connection -> DatabaseOperation.DELETE_ALL.execute(connection, new DefaultDataSet(table)));
+        } catch (DatabaseUnitException | SQLException e) {
+            throw new DataScriptException("Exception during execution of data delete for table " + table.getTableMetaData().getTableName(), e);
+        }
+    }
+
+    private synchronized List<List<ITable>> getLevels() {
+        if (levels == null) {
+            try {
+                connectionPool.execute(connection -> levels = determineLevels(connection));
+            } catch (DatabaseUnitException | SQLException e) {
+                throw new DataScriptException("Exception during retrieval of the foreign keys", e);
+            }
+            LOGGER.info(String.format("Data set tables grouped in %s levels : %s", levels.size(), levels.stream()
+                    .map(level -> level.stream().map(table -> table.getTableMetaData().getTableName()).collect(Collectors.joining(", ", "[", "]")))
+                    .collect(Collectors.joining(" "))));
+        }
+        return levels;
+    }
+
+    private List<List<ITable>> determineLevels(IDatabaseConnection connection) throws SQLException, DataSetException {
+        // In the order of the data set.
+        Map<String, ITable> tables = new LinkedHashMap<>();
+        for (ITable table : dataSet.getTables()) {
+            tables.put(TableNames.normalize(table.getTableMetaData().getTableName()), table);
+        }
+
+        Map<String, Set<String>> referencedTables = new HashMap<>();
+        DatabaseMetaData metaData = connection.getConnection().getMetaData();
+        for (Map.Entry<String, ITable> entry : tables.entrySet()) {
+            Set<String> referenced = new HashSet<>();
+            String tableName = entry.getValue().getTableMetaData().getTableName();
+            try (ResultSet rs = metaData.getImportedKeys(null, connection.getSchema(), TableNames.toMetaDataName(metaData, tableName))) {
+                while (rs.next()) {
+                    String primaryKeyTable = TableNames.normalize(rs.getString("PKTABLE_NAME"));
+                    // Self references and tables outside the data set don't influence the order.
+                    if (!primaryKeyTable.equals(entry.getKey()) && tables.containsKey(primaryKeyTable)) {
+                        referenced.add(primaryKeyTable);
+                    }
+                }
+            }
+            referencedTables.put(entry.getKey(), referenced);
+        }
+
+        List<List<ITable>> result = new ArrayList<>();
+        Set<String> placed = new HashSet<>();
+        while (placed.size() < tables.size()) {
+            List<String> level = tables.keySet().stream()
+                    .filter(table -> !placed.contains(table))
+                    .filter(table -> placed.containsAll(referencedTables.get(table)))
+                    .collect(Collectors.toList());
+            if (level.isEmpty()) {
+                // Circular foreign keys, the remaining tables are handled one by one in the order of the data set.
+                LOGGER.warn("Circular foreign keys between the tables of the data set, remaining tables are loaded sequentially");
+                tables.keySet().stream()
+                        .filter(table -> !placed.contains(table))
+                        .forEach(table -> result.add(Collections.singletonList(tables.get(table))));
+                break;
+            }
+            placed.addAll(level);
+            result.add(level.stream().map(tables::get).collect(Collectors.toList()));
+        }
+        return result;
+    }
+
+    private static class LoaderThreadFactory implements ThreadFactory {
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread result = new Thread(runnable, "atbash-data-loader-" + COUNTER.incrementAndGet());
+            result.setDaemon(true);
+            return result;
+        }
+    }
+}
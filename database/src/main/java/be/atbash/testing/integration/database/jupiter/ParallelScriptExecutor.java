@@ -0,0 +1,240 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.jupiter;
+
+import be.atbash.testing.integration.container.exception.UnexpectedException;
+import be.atbash.testing.integration.database.exception.DatabaseScriptException;
+import be.atbash.testing.integration.jupiter.ContainerLifecycleExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.JdbcDatabaseContainer;
+import org.testcontainers.ext.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Executes the statements of a script concurrently over a few connections. A statement waits for the previous
+ * statements that use the same tables or sequences (a table is created before its indexes and foreign keys). Statements
+ * that are not recognised (views, functions, inserts, tables created from a query, ...) are executed when all previous
+ * statements are finished, and all next statements wait for them. A script with statements that change the state of
+ * the session ({@code SET}, {@code USE}, {@code ALTER SESSION}) is executed sequentially over a single connection, as
+ * the next statements depend on that state. The number of connections is defined by the System property
+ * {@code be.atbash.test.script.connections} (default 4).
+ */
+public class ParallelScriptExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelScriptExecutor.class);
+
+    private static final Pattern DEFINES = Pattern.compile("^CREATE\\s+(?:TABLE|SEQUENCE)\\s+(?:IF\\s+NOT\\s+EXISTS\\s+)?([^\\s(]+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ALTERS = Pattern.compile("^ALTER\\s+TABLE\\s+(?:IF\\s+EXISTS\\s+)?(?:ONLY\\s+)?([^\\s(]+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern INDEX = Pattern.compile("^CREATE\\s+(?:UNIQUE\\s+)?INDEX\\s+.*?\\sON\\s+([^\\s(]+)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern CREATE_AS_SELECT = Pattern.compile("^CREATE\\s+TABLE\\s.*?\\sAS\\s*\\(?\\s*(?:SELECT|WITH)\\s", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern SESSION = Pattern.compile("^(?:SET|USE)\\s|^ALTER\\s+SESSION\\s", Pattern.CASE_INSENSITIVE);
+    private static final Pattern REFERENCES = Pattern.compile("\\sREFERENCES\\s+([^\\s(]+)", Pattern.CASE_INSENSITIVE);
+
+    private static final int SLOWEST_REPORTED = 10;
+
+    private final JdbcDatabaseContainer<?> jdbcDatabaseContainer;
+
+    public ParallelScriptExecutor(JdbcDatabaseContainer<?> jdbcDatabaseContainer) {
+        this.jdbcDatabaseContainer = jdbcDatabaseContainer;
+    }
+
+    public void execute(String scriptPath, String script) {
+        List<ScriptStatement> statements = defineStatements(scriptPath, script);
+
+        int connectionCount = Integer.getInteger("be.atbash.test.script.connections", 4);
+        if (hasSessionStatements(statements.stream().map(statement -> statement.sql).collect(Collectors.toList()))) {
+            LOGGER.info(String.format("Script %s changes the state of the session, statements are executed sequentially", scriptPath));
+            connectionCount = 1;
+        }
+        BlockingQueue<Connection> connections = new ArrayBlockingQueue<>(connectionCount);
+        ExecutorService executor = Executors.newFixedThreadPool(connectionCount);
+        long start = System.currentTimeMillis();
+        try {
+            for (int i = 0; i < connectionCount; i++) {
+                connections.add(jdbcDatabaseContainer.createConnection(""));
+            }
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (ScriptStatement statement : statements) {
+                CompletableFuture<?>[] dependencies = statement.dependencies.stream()
+                        .map(futures::get)
+                        .toArray(CompletableFuture[]::new);
+                futures.add(CompletableFuture.allOf(dependencies)
+                        .thenRunAsync(() -> statement.execute(connections), executor));
+            }
+            ContainerLifecycleExecutor.join(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])));
+        } catch (SQLException e) {
+            throw new UnexpectedException("Unexpected exception during creation of the connections for the script " + scriptPath, e);
+        } finally {
+            executor.shutdownNow();
+            connections.forEach(ParallelScriptExecutor::close);
+        }
+        reportTimings(scriptPath, statements, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Split the script into statements, with the same rules as {@code ScriptUtils.executeDatabaseScript}.
+     */
+    static List<String> splitStatements(String scriptPath, String script) {
+        String separator = ScriptUtils.containsSqlScriptDelimiters(script, ScriptUtils.DEFAULT_STATEMENT_SEPARATOR)
+                ? ScriptUtils.DEFAULT_STATEMENT_SEPARATOR : ScriptUtils.FALLBACK_STATEMENT_SEPARATOR;
+        List<String> result = new LinkedList<>();
+        ScriptUtils.splitSqlScript(scriptPath, script, separator, ScriptUtils.DEFAULT_COMMENT_PREFIX
+                , ScriptUtils.DEFAULT_BLOCK_COMMENT_START_DELIMITER, ScriptUtils.DEFAULT_BLOCK_COMMENT_END_DELIMITER, result);
+        return result;
+    }
+
+    static List<ScriptStatement> defineStatements(String scriptPath, String script) {
+        List<String> sqlStatements = splitStatements(scriptPath, script);
+
+        List<ScriptStatement> result = new ArrayList<>();
+        if (hasSessionStatements(sqlStatements)) {
+            // The session state only exists on one connection, each statement waits for the previous one.
+            for (String sql : sqlStatements) {
+                int index = result.size();
+                result.add(new ScriptStatement(sql, index == 0 ? new HashSet<>() : new HashSet<>(Set.of(index - 1))));
+            }
+            return result;
+        }
+        // Index of the last statement that used the object.
+        Map<String, Integer> lastUsage = new HashMap<>();
+        int lastBarrier = -1;
+        for (String sql : sqlStatements) {
+            int index = result.size();
+            Set<Integer> dependencies = new HashSet<>();
+            Set<String> objects = determineObjects(sql.trim());
+            if (objects.isEmpty()) {
+                // Unknown dependencies, wait for all previous statements.
+                for (int i = lastBarrier + 1; i < index; i++) {
+                    dependencies.add(i);
+                }
+                if (lastBarrier != -1) {
+                    dependencies.add(lastBarrier);
+                }
+                lastBarrier = index;
+                lastUsage.clear();
+            } else {
+                if (lastBarrier != -1) {
+                    dependencies.add(lastBarrier);
+                }
+                for (String object : objects) {
+                    Integer previous = lastUsage.put(object, index);
+                    if (previous != null) {
+                        dependencies.add(previous);
+                    }
+                }
+            }
+            result.add(new ScriptStatement(sql, dependencies));
+        }
+        return result;
+    }
+
+    private static boolean hasSessionStatements(List<String> sqlStatements) {
+        return sqlStatements.stream().anyMatch(sql -> SESSION.matcher(sql.trim()).find());
+    }
+
+    private static Set<String> determineObjects(String sql) {
+        Set<String> result = new HashSet<>();
+        if (CREATE_AS_SELECT.matcher(sql).find()) {
+            // The tables of the query are not known, so handled as an unknown statement.
+            return result;
+        }
+        for (Pattern pattern : new Pattern[]{DEFINES, ALTERS, INDEX}) {
+            Matcher matcher = pattern.matcher(sql);
+            if (matcher.find()) {
+                result.add(normalize(matcher.group(1)));
+            }
+        }
+        if (!result.isEmpty()) {
+            Matcher matcher = REFERENCES.matcher(sql);
+            while (matcher.find()) {
+                result.add(normalize(matcher.group(1)));
+            }
+        }
+        return result;
+    }
+
+    private static String normalize(String objectName) {
+        // Without schema so that the qualified and unqualified name of a table match.
+        return TableNames.normalize(objectName.replaceAll("[\"`\\[\\]]", ""));
+    }
+
+    private static void reportTimings(String scriptPath, List<ScriptStatement> statements, long duration) {
+        String report = statements.stream()
+                .sorted(Comparator.comparingLong((ScriptStatement statement) -> statement.duration).reversed())
+                .limit(SLOWEST_REPORTED)
+                .map(statement -> String.format("  %s ms : %s", statement.duration, statement.getSummary()))
+                .collect(Collectors.joining("\n"));
+        LOGGER.info(String.format("Script %s with %s statements executed in %s ms, slowest statements%n%s", scriptPath, statements.size(), duration, report));
+    }
+
+    private static void close(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOGGER.warn("Unexpected SQLException during close of the connection " + e.getMessage());
+        }
+    }
+
+    static class ScriptStatement {
+        private final String sql;
+        private final Set<Integer> dependencies;
+        private volatile long duration;
+
+        ScriptStatement(String sql, Set<Integer> dependencies) {
+            this.sql = sql;
+            this.dependencies = dependencies;
+        }
+
+        void execute(BlockingQueue<Connection> connections) {
+            Connection connection = connections.poll();
+            if (connection == null) {
+                // Every thread of the executor has its own connection.
+                throw new UnexpectedException("No connection available for the execution of the script");
+            }
+            long start = System.currentTimeMillis();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(sql);
+            } catch (SQLException e) {
+                throw new DatabaseScriptException("failure during execution of statement : " + sql, e);
+            } finally {
+                duration = System.currentTimeMillis() - start;
+                connections.add(connection);
+            }
+        }
+
+        Set<Integer> getDependencies() {
+            return dependencies;
+        }
+
+        String getSummary() {
+            String result = sql.replaceAll("\\s+", " ").trim();
+            return result.length() > 80 ? result.substring(0, 80) + "..." : result;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.jupiter;
+
+import be.atbash.testing.integration.database.SupportedDatabase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.JdbcDatabaseContainer;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Configures the database container for speed instead of durability. The data of a test database doesn't need
+ * to survive a crash, so synchronous writes to disk are turned off and the data directory is kept in memory (tmpfs).
+ */
+public final class PerformanceProfile {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PerformanceProfile.class);
+
+    private PerformanceProfile() {
+    }
+
+    /**
+     * Apply the profile to the container that is not started yet.
+     *
+     * @param jdbcDatabaseContainer The database container.
+     * @param database              The type of database.
+     * @param schemaSnapshot        Is a schema snapshot created from the container. The data directory is then not kept in
+     *                              memory (tmpfs) and each commit is written to the files, so that the snapshot contains
+     *                              all statements of the script.
+     */
+    public static void configure(JdbcDatabaseContainer<?> jdbcDatabaseContainer, SupportedDatabase database, boolean schemaSnapshot) {
+        switch (database) {
+            case POSTGRES:
+                appendCommand(jdbcDatabaseContainer, "-c", "fsync=off", "-c", "full_page_writes=off");
+                if (!schemaSnapshot) {
+                    appendCommand(jdbcDatabaseContainer, "-c", "synchronous_commit=off");
+                    jdbcDatabaseContainer.withTmpFs(Map.of("/var/lib/postgresql/data", "rw"));
+                }
+                break;
+            case MYSQL:
+            case MARIADB:
+                appendCommand(jdbcDatabaseContainer, "--skip-log-bin");
+                if (schemaSnapshot) {
+                    // Log written at each commit, only the flush to disk is delayed.
+                    appendCommand(jdbcDatabaseContainer, "--innodb_flush_log_at_trx_commit=2");
+                } else {
+                    appendCommand(jdbcDatabaseContainer, "--innodb_flush_log_at_trx_commit=0");
+                    jdbcDatabaseContainer.withTmpFs(Map.of("/var/lib/mysql", "rw"));
+                }
+                break;
+            case ORACLE_XE:
+                // The database is already created within the image, so the data directory can't be replaced by tmpfs.
+                LOGGER.info("No performance profile available for Oracle XE");
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Value '%s' not supported for PerformanceProfile", database));
+        }
+    }
+
+    /**
+     * Add the arguments to the command of the container, keeping the arguments already defined.
+     *
+     * @param jdbcDatabaseContainer The database container.
+     * @param arguments             The additional arguments.
+     */
+    public static void appendCommand(JdbcDatabaseContainer<?> jdbcDatabaseContainer, String... arguments) {
+        String[] commandParts = Stream.concat(Arrays.stream(jdbcDatabaseContainer.getCommandParts()), Arrays.stream(arguments))
+                .toArray(String[]::new);
+        jdbcDatabaseContainer.setCommandParts(commandParts);
+    }
+}
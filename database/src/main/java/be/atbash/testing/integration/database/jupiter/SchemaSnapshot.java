@@ -0,0 +1,106 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.jupiter;
+
+import be.atbash.testing.integration.container.image.ContentDigest;
+import be.atbash.testing.integration.container.image.ImageCache;
+import be.atbash.testing.integration.database.SupportedDatabase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.JdbcDatabaseContainer;
+
+/**
+ * Local image of the database container taken after the execution of the script that creates the tables. The image
+ * is tagged with the digest of the database image name and the script so that a modified script results in a new
+ * snapshot. When the image is available, the database container is started from it and the script is skipped.
+ * The snapshot image is not removed at the end of the test run.
+ */
+public class SchemaSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaSnapshot.class);
+
+    private static final String REPOSITORY = "atbash-schema-snapshot";
+
+    // The data directories of these images are declared as VOLUME and thus not part of a commit.
+    private static final String DATA_DIRECTORY = "/var/lib/atbash-data";
+
+    private final SupportedDatabase database;
+    private final String tag;
+    private final boolean available;
+
+    public SchemaSnapshot(SupportedDatabase database, String databaseImageName, String createTablesScript) {
+        this.database = database;
+        this.tag = new ContentDigest()
+                .add(databaseImageName)
+                .add(createTablesScript)
+                .toHex();
+        this.available = ImageCache.imageExists(getImageName());
+    }
+
+    public String getImageName() {
+        return REPOSITORY + ":" + tag;
+    }
+
+    /**
+     * Is the snapshot available at the moment the test class started.
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Keep the data of the database in the container file system so that it is part of the snapshot and use
+     * the snapshot image when available.
+     *
+     * @param jdbcDatabaseContainer The database container that is not started yet.
+     */
+    public void configure(JdbcDatabaseContainer<?> jdbcDatabaseContainer) {
+        switch (database) {
+            case POSTGRES:
+                jdbcDatabaseContainer.withEnv("PGDATA", DATA_DIRECTORY);
+                break;
+            case MYSQL:
+            case MARIADB:
+                PerformanceProfile.appendCommand(jdbcDatabaseContainer, "--datadir=" + DATA_DIRECTORY);
+                break;
+            case ORACLE_XE:
+                // Image doesn't declare a volume for the data.
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Value '%s' not supported for SchemaSnapshot", database));
+        }
+        if (available) {
+            LOGGER.info(String.format("Using schema snapshot %s, the script to create the tables is skipped", getImageName()));
+            jdbcDatabaseContainer.setDockerImageName(getImageName());
+        }
+    }
+
+    /**
+     * Create the snapshot of the running database container. The container is paused during the commit, so the
+     * database files are in the same state as after a crash and the database recovers them at startup.
+     *
+     * @param jdbcDatabaseContainer The database container after the execution of the script.
+     */
+    public void create(JdbcDatabaseContainer<?> jdbcDatabaseContainer) {
+        long start = System.currentTimeMillis();
+        DockerClientFactory.instance().client().commitCmd(jdbcDatabaseContainer.getContainerId())
+                .withRepository(REPOSITORY)
+                .withTag(tag)
+                .exec();
+        LOGGER.info(String.format("Schema snapshot %s created in %s ms", getImageName(), System.currentTimeMillis() - start));
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.jupiter;
+
+import be.atbash.testing.integration.container.exception.UnexpectedException;
+import be.atbash.testing.integration.container.image.ContentDigest;
+import be.atbash.testing.integration.database.SupportedDatabase;
+import be.atbash.testing.integration.database.exception.DatabaseScriptException;
+import com.github.dockerjava.api.model.ContainerNetwork;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.JdbcDatabaseContainer;
+import org.testcontainers.containers.Network;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A database container that is shared by all test classes using the same database image. Each test class leases
+ * its own database ({@code test_<n>}, a user for Oracle) where the tables are created. For PostgreSQL, the tables
+ * are created once in a template database for each script and the database of the test class is a copy of it.
+ * The server is kept within the root {@code ExtensionContext.Store} so that JUnit stops it at the end of the test run.
+ */
+public class SharedDatabaseServer implements ExtensionContext.Store.CloseableResource {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedDatabaseServer.class);
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SharedDatabaseServer.class);
+
+    private static final AtomicInteger SERVER_COUNTER = new AtomicInteger();
+
+    private final JdbcDatabaseContainer<?> jdbcDatabaseContainer;
+    private final SupportedDatabase database;
+    private final String networkAlias;
+
+    private final AtomicInteger leaseCounter = new AtomicInteger();
+    private final Set<String> templates = new HashSet<>();
+    // Number of test classes that use the network, by network id.
+    private final Map<String, Integer> networkUsage = new HashMap<>();
+
+    private SharedDatabaseServer(JdbcDatabaseContainer<?> jdbcDatabaseContainer, SupportedDatabase database) {
+        this.jdbcDatabaseContainer = jdbcDatabaseContainer;
+        this.database = database;
+        // Unique alias so that it doesn't collide with the database containers of the test classes.
+        this.networkAlias = "atbash-db-" + SERVER_COUNTER.incrementAndGet();
+    }
+
+    public static SharedDatabaseServer getInstance(ExtensionContext extensionContext, DatabaseContainerAdapterMetaData metaData
+            , Supplier<JdbcDatabaseContainer<?>> containerSupplier) {
+        return extensionContext.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(metaData.getDatabaseImageName()
+                , key -> new SharedDatabaseServer(containerSupplier.get(), metaData.getDatabase()), SharedDatabaseServer.class);
+    }
+
+    public JdbcDatabaseContainer<?> getContainer() {
+        return jdbcDatabaseContainer;
+    }
+
+    /**
+     * Start the container when it is not running yet.
+     */
+    public synchronized void start() {
+        if (!jdbcDatabaseContainer.isRunning()) {
+            jdbcDatabaseContainer.start();
+        }
+    }
+
+    /**
+     * Connect the running container to the network of a test class, so that the application can reach it.
+     * The container is connected only once to a network that is used by several test classes (shared application container).
+     *
+     * @param network The network of the test class.
+     */
+    public synchronized void connect(Network network) {
+        String networkId = network.getId();
+        if (networkUsage.merge(networkId, 1, Integer::sum) == 1) {
+            DockerClientFactory.instance().client().connectToNetworkCmd()
+                    .withContainerId(jdbcDatabaseContainer.getContainerId())
+                    .withNetworkId(networkId)
+                    .withContainerNetwork(new ContainerNetwork().withAliases(networkAlias))
+                    .exec();
+        }
+    }
+
+    /**
+     * Disconnect the container from the network of a test class, required before the network can be removed.
+     *
+     * @param network The network of the test class.
+     */
+    public synchronized void disconnect(Network network) {
+        String networkId = network.getId();
+        if (!networkUsage.containsKey(networkId)) {
+            // Not connected, the start of the test class failed before.
+            return;
+        }
+        Integer usage = networkUsage.computeIfPresent(networkId, (key, count) -> count == 1 ? null : count - 1);
+        if (usage == null && jdbcDatabaseContainer.isRunning()) {
+            DockerClientFactory.instance().client().disconnectFromNetworkCmd()
+                    .withContainerId(jdbcDatabaseContainer.getContainerId())
+                    .withNetworkId(networkId)
+                    .withForce(true)
+                    .exec();
+        }
+    }
+
+    /**
+     * Define the database for a test class. The database itself is only created by {@link #create(DatabaseLease, String, String)}
+     * as it requires the running container.
+     */
+    public DatabaseLease newLease() {
+        String name = "test_" + leaseCounter.incrementAndGet();
+        String internalJdbcUrl = String.format(database.getJdbcURLTemplate(), networkAlias, jdbcDatabaseContainer.getExposedPorts().get(0));
+        String username = jdbcDatabaseContainer.getUsername();
+        if (database == SupportedDatabase.ORACLE_XE) {
+            // The schema is the user.
+            username = name;
+        } else {
+            internalJdbcUrl = replaceDatabaseName(internalJdbcUrl, name);
+        }
+        return new DatabaseLease(name, username, jdbcDatabaseContainer.getPassword(), null, internalJdbcUrl);
+    }
+
+    /**
+     * Create the database of the lease with the tables of the script.
+     *
+     * @param lease      The lease defined by {@link #newLease()}.
+     * @param scriptPath The path of the script, for the log.
+     * @param script     The content of the script.
+     * @return The lease with the JDBC URL to access it from the test.
+     */
+    public DatabaseLease create(DatabaseLease lease, String scriptPath, String script) {
+        long start = System.currentTimeMillis();
+        String jdbcUrl = jdbcDatabaseContainer.getJdbcUrl();
+        if (database != SupportedDatabase.ORACLE_XE) {
+            jdbcUrl = replaceDatabaseName(jdbcUrl, lease.getName());
+        }
+        DatabaseLease result = new DatabaseLease(lease.getName(), lease.getUsername(), lease.getPassword(), jdbcUrl, lease.getInternalJdbcUrl());
+        try {
+            switch (database) {
+                case POSTGRES:
+                    String template = createTemplate(lease, scriptPath, script);
+                    executeAdmin(String.format("CREATE DATABASE %s TEMPLATE %s", lease.getName(), template));
+                    break;
+                case MYSQL:
+                case MARIADB:
+                    executeAdmin("CREATE DATABASE " + lease.getName()
+                            , String.format("GRANT ALL PRIVILEGES ON %s.* TO '%s'@'%%'", lease.getName(), lease.getUsername()));
+                    // Only the database of the lease is used, so test classes can run their script at the same time.
+                    executeScript(connect(jdbcUrl, lease.getUsername(), lease.getPassword()), scriptPath, script);
+                    break;
+                case ORACLE_XE:
+                    executeAdmin(String.format("CREATE USER %s IDENTIFIED BY \"%s\" QUOTA UNLIMITED ON USERS", lease.getName(), lease.getPassword())
+                            , String.format("GRANT CONNECT, RESOURCE, CREATE VIEW TO %s", lease.getName()));
+                    executeScript(connect(jdbcUrl, lease.getUsername(), lease.getPassword()), scriptPath, script);
+                    break;
+                default:
+                    throw new IllegalArgumentException(String.format("Value '%s' not supported for SharedDatabaseServer", database));
+            }
+        } catch (SQLException e) {
+            throw new DatabaseScriptException("failure during creation of the database " + lease.getName(), e);
+        }
+        LOGGER.info(String.format("Database %s created in %s ms", lease.getName(), System.currentTimeMillis() - start));
+        return result;
+    }
+
+    /**
+     * Create the template database with the tables of the script, when not created yet by another test class.
+     *
+     * @return The name of the template database.
+     */
+    private synchronized String createTemplate(DatabaseLease lease, String scriptPath, String script) throws SQLException {
+        String template = "atbash_template_" + new ContentDigest().add(script).toHex().substring(0, 16);
+        if (!templates.contains(template)) {
+            execute(adminConnection(), "CREATE DATABASE " + template);
+            executeScript(connect(replaceDatabaseName(jdbcDatabaseContainer.getJdbcUrl(), template), lease.getUsername(), lease.getPassword()), scriptPath, script);
+            templates.add(template);
+        }
+        return template;
+    }
+
+    /**
+     * Execute the statements as administrator, one test class at a time.
+     */
+    private synchronized void executeAdmin(String... statements) throws SQLException {
+        execute(adminConnection(), statements);
+    }
+
+    /**
+     * Open a connection to the database of the lease.
+     */
+    public Connection createConnection(DatabaseLease lease) {
+        try {
+            return connect(lease.getJdbcUrl(), lease.getUsername(), lease.getPassword());
+        } catch (SQLException e) {
+            throw new UnexpectedException("Error occurred during creation connection to database " + lease.getName(), e);
+        }
+    }
+
+    private Connection adminConnection() throws SQLException {
+        switch (database) {
+            case POSTGRES:
+                // The user of the container is a superuser.
+                return jdbcDatabaseContainer.createConnection("");
+            case MYSQL:
+            case MARIADB:
+                return connect(jdbcDatabaseContainer.getJdbcUrl(), "root", jdbcDatabaseContainer.getPassword());
+            case ORACLE_XE:
+                return connect(jdbcDatabaseContainer.getJdbcUrl(), "system", jdbcDatabaseContainer.getPassword());
+            default:
+                throw new IllegalArgumentException(String.format("Value '%s' not supported for SharedDatabaseServer", database));
+        }
+    }
+
+    private Connection connect(String jdbcUrl, String username, String password) throws SQLException {
+        Properties properties = new Properties();
+        properties.put("user", username);
+        properties.put("password", password);
+        return jdbcDatabaseContainer.getJdbcDriverInstance().connect(jdbcUrl, properties);
+    }
+
+    private String replaceDatabaseName(String jdbcUrl, String databaseName) {
+        Matcher matcher = Pattern.compile("/" + Pattern.quote(jdbcDatabaseContainer.getDatabaseName()) + "(?=$|\\?)").matcher(jdbcUrl);
+        return matcher.replaceFirst("/" + databaseName);
+    }
+
+    private static void execute(Connection connection, String... statements) throws SQLException {
+        try (connection; Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private static void executeScript(Connection connection, String scriptPath, String script) throws SQLException {
+        List<String> statements = ParallelScriptExecutor.splitStatements(scriptPath, script);
+        execute(connection, statements.toArray(new String[0]));
+    }
+
+    @Override
+    public void close() {
+        LOGGER.info(String.format("Stopping the shared database container with %s databases", leaseCounter.get()));
+        jdbcDatabaseContainer.stop();
+    }
+}
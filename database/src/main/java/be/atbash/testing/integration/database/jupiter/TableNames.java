@@ -0,0 +1,51 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.jupiter;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Conversions of the table names of the data set to compare them with the names reported by the database.
+ */
+final class TableNames {
+
+    private TableNames() {
+    }
+
+    static String unqualified(String tableName) {
+        return tableName.substring(tableName.lastIndexOf('.') + 1);
+    }
+
+    static String normalize(String tableName) {
+        return unqualified(tableName).toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * The table name in the case the database uses to store it, as needed for the {@link DatabaseMetaData} methods.
+     */
+    static String toMetaDataName(DatabaseMetaData metaData, String tableName) throws SQLException {
+        String result = unqualified(tableName);
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return result.toUpperCase(Locale.ENGLISH);
+        }
+        if (metaData.storesLowerCaseIdentifiers()) {
+            return result.toLowerCase(Locale.ENGLISH);
+        }
+        return result;
+    }
+}
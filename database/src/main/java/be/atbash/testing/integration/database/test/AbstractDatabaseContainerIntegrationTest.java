@@ -19,10 +19,14 @@ import be.atbash.testing.integration.test.AbstractContainerIntegrationTest;
 import org.dbunit.database.IDatabaseConnection;
 import org.testcontainers.containers.JdbcDatabaseContainer;
 
+/**
+ * Abstract class for the Integration test with a database written by developer. The fields are set for each
+ * test instance (and not static) so that test classes can be executed in parallel.
+ */
 public abstract class AbstractDatabaseContainerIntegrationTest extends AbstractContainerIntegrationTest {
 
-    public static JdbcDatabaseContainer<?> databaseContainer;
+    public JdbcDatabaseContainer<?> databaseContainer;
 
-    public static IDatabaseConnection databaseConnection;
+    public IDatabaseConnection databaseConnection;
 
 }
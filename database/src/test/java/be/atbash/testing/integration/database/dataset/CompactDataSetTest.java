@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.dataset;
+
+import org.assertj.core.api.Assertions;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.datatype.DataType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class CompactDataSetTest {
+
+    private static final int TABLE_COUNT = 50;
+    private static final int THREAD_COUNT = 8;
+
+    @Test
+    void of() throws Exception {
+        CompactDataSet dataSet = CompactDataSet.of(defineDataSet());
+
+        Assertions.assertThat(dataSet.getTableNames()).hasSize(TABLE_COUNT);
+        ITable table = dataSet.getTable("table_3");
+        Assertions.assertThat(table.getRowCount()).isEqualTo(2);
+        Assertions.assertThat(table.getValue(1, "name")).isEqualTo("name_3_1");
+    }
+
+    @Test
+    void of_sharedBetweenThreads() throws Exception {
+        CompactDataSet dataSet = CompactDataSet.of(defineDataSet());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                Callable<Integer> reader = () -> {
+                    startSignal.await();
+                    int rows = 0;
+                    for (int idx = 0; idx < TABLE_COUNT; idx++) {
+                        ITable table = dataSet.getTable("table_" + idx);
+                        rows += table.getRowCount();
+                        Assertions.assertThat(table.getValue(0, "id")).isEqualTo(idx * 10);
+                    }
+                    return rows;
+                };
+                results.add(executor.submit(reader));
+            }
+            startSignal.countDown();
+            for (Future<Integer> result : results) {
+                Assertions.assertThat(result.get()).isEqualTo(TABLE_COUNT * 2);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static DefaultDataSet defineDataSet() throws Exception {
+        DefaultDataSet result = new DefaultDataSet();
+        Column[] columns = {new Column("id", DataType.INTEGER), new Column("name", DataType.VARCHAR)};
+        for (int idx = 0; idx < TABLE_COUNT; idx++) {
+            DefaultTable table = new DefaultTable("table_" + idx, columns);
+            table.addRow(new Object[]{idx * 10, "name_" + idx + "_0"});
+            table.addRow(new Object[]{idx * 10 + 1, "name_" + idx + "_1"});
+            result.addTable(table);
+        }
+        return result;
+    }
+}
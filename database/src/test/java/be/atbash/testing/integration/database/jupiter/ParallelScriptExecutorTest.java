@@ -0,0 +1,103 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.database.jupiter;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class ParallelScriptExecutorTest {
+
+    @Test
+    void defineStatements_sameTable() {
+        String script = "CREATE TABLE person (id INT PRIMARY KEY);\n" +
+                "CREATE TABLE company (id INT PRIMARY KEY);\n" +
+                "CREATE INDEX idx_person ON person (id);\n";
+        List<ParallelScriptExecutor.ScriptStatement> statements = ParallelScriptExecutor.defineStatements("test.sql", script);
+
+        Assertions.assertThat(statements).hasSize(3);
+        Assertions.assertThat(statements.get(0).getDependencies()).isEmpty();
+        Assertions.assertThat(statements.get(1).getDependencies()).isEmpty();
+        Assertions.assertThat(statements.get(2).getDependencies()).containsExactly(0);
+    }
+
+    @Test
+    void defineStatements_qualifiedName() {
+        String script = "CREATE TABLE public.person (id INT PRIMARY KEY);\n" +
+                "ALTER TABLE person ADD COLUMN name VARCHAR(50);\n" +
+                "CREATE TABLE \"public\".\"address\" (id INT PRIMARY KEY, person_id INT REFERENCES PERSON (id));\n";
+        List<ParallelScriptExecutor.ScriptStatement> statements = ParallelScriptExecutor.defineStatements("test.sql", script);
+
+        Assertions.assertThat(statements).hasSize(3);
+        Assertions.assertThat(statements.get(1).getDependencies()).containsExactly(0);
+        Assertions.assertThat(statements.get(2).getDependencies()).containsExactly(1);
+    }
+
+    @Test
+    void defineStatements_createTableAsSelect() {
+        String script = "CREATE TABLE person (id INT PRIMARY KEY);\n" +
+                "CREATE TABLE company (id INT PRIMARY KEY);\n" +
+                "CREATE TABLE person_copy AS SELECT * FROM person;\n" +
+                "CREATE TABLE address (id INT PRIMARY KEY);\n";
+        List<ParallelScriptExecutor.ScriptStatement> statements = ParallelScriptExecutor.defineStatements("test.sql", script);
+
+        Assertions.assertThat(statements).hasSize(4);
+        Assertions.assertThat(statements.get(2).getDependencies()).containsExactlyInAnyOrder(0, 1);
+        Assertions.assertThat(statements.get(3).getDependencies()).containsExactly(2);
+    }
+
+    @Test
+    void defineStatements_unknownStatement() {
+        String script = "CREATE TABLE person (id INT PRIMARY KEY);\n" +
+                "INSERT INTO person VALUES (1);\n" +
+                "CREATE TABLE company (id INT PRIMARY KEY);\n" +
+                "CREATE TABLE address (id INT PRIMARY KEY);\n";
+        List<ParallelScriptExecutor.ScriptStatement> statements = ParallelScriptExecutor.defineStatements("test.sql", script);
+
+        Assertions.assertThat(statements).hasSize(4);
+        Assertions.assertThat(statements.get(1).getDependencies()).containsExactly(0);
+        Assertions.assertThat(statements.get(2).getDependencies()).containsExactly(1);
+        Assertions.assertThat(statements.get(3).getDependencies()).containsExactly(1);
+    }
+
+    @Test
+    void defineStatements_sessionStatement() {
+        String script = "SET search_path TO app;\n" +
+                "CREATE TABLE person (id INT PRIMARY KEY);\n" +
+                "CREATE TABLE company (id INT PRIMARY KEY);\n" +
+                "CREATE TABLE address (id INT PRIMARY KEY);\n";
+        List<ParallelScriptExecutor.ScriptStatement> statements = ParallelScriptExecutor.defineStatements("test.sql", script);
+
+        Assertions.assertThat(statements).hasSize(4);
+        Assertions.assertThat(statements.get(0).getDependencies()).isEmpty();
+        Assertions.assertThat(statements.get(1).getDependencies()).containsExactly(0);
+        Assertions.assertThat(statements.get(2).getDependencies()).containsExactly(1);
+        Assertions.assertThat(statements.get(3).getDependencies()).containsExactly(2);
+    }
+
+    @Test
+    void defineStatements_alterSession() {
+        String script = "CREATE TABLE person (id INT PRIMARY KEY);\n" +
+                "ALTER SESSION SET CURRENT_SCHEMA = app;\n" +
+                "CREATE TABLE company (id INT PRIMARY KEY);\n";
+        List<ParallelScriptExecutor.ScriptStatement> statements = ParallelScriptExecutor.defineStatements("test.sql", script);
+
+        Assertions.assertThat(statements).hasSize(3);
+        Assertions.assertThat(statements.get(1).getDependencies()).containsExactly(0);
+        Assertions.assertThat(statements.get(2).getDependencies()).containsExactly(1);
+    }
+}
@@ -15,16 +15,23 @@
  */
 package be.atbash.testing.integration.container;
 
+import be.atbash.testing.integration.container.exception.UnexpectedException;
+import be.atbash.testing.integration.jupiter.ContainerAdapterMetaData;
+import be.atbash.testing.integration.jupiter.RestClientCache;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import org.junit.jupiter.api.Assertions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testcontainers.containers.GenericContainer;
-import org.testcontainers.containers.Network;
 import org.testcontainers.containers.output.Slf4jLogConsumer;
 import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Pattern;
 
 /**
  * Abstract Super class for the Containers of the supported Runtimes. No real common functionality for the moment,
@@ -34,6 +41,10 @@ import java.util.concurrent.Future;
  */
 public abstract class AbstractIntegrationContainer<SELF extends AbstractIntegrationContainer<SELF>> extends GenericContainer<SELF> {
 
+    protected static final String DEPLOYED_APPLICATION = "test.war";
+
+    private static final Duration REDEPLOY_TIMEOUT = Duration.of(60, ChronoUnit.SECONDS);
+
     protected final Logger LOGGER = LoggerFactory.getLogger(getClass());
 
     private final boolean liveLogging;
@@ -41,14 +52,12 @@ public abstract class AbstractIntegrationContainer<SELF extends AbstractIntegrat
     protected AbstractIntegrationContainer(Future<String> image, boolean liveLogging) {
         super(image);
         this.liveLogging = liveLogging;
-        setNetwork(Network.SHARED);
     }
 
     protected AbstractIntegrationContainer(DockerImageName dockerImageName) {
         // FIXME Is this constructor still needed. Since child constructors aren't used.
         super(dockerImageName);
         this.liveLogging = false;
-        setNetwork(Network.SHARED);
     }
 
     protected void prepareForRemoteDebug(boolean debug) {
@@ -59,6 +68,102 @@ public abstract class AbstractIntegrationContainer<SELF extends AbstractIntegrat
         }
     }
 
+    /**
+     * Copies the application into the deployment directory of the runtime, used for the deployment mode {@code COPY}.
+     *
+     * @param metaData            The metadata for the container.
+     * @param deploymentDirectory The directory within the container that the runtime scans for applications.
+     */
+    protected void deployByCopy(ContainerAdapterMetaData metaData, String deploymentDirectory) {
+        withCopyFileToContainer(MountableFile.forHostPath(metaData.getWarFileLocation()), deploymentDirectory + "/" + DEPLOYED_APPLICATION);
+    }
+
+    /**
+     * The directory within the running container where the runtime picks up the application for a redeploy. When null,
+     * the runtime doesn't support the redeploy of the application in a running container.
+     *
+     * @return The deployment directory or null when redeploy isn't supported.
+     */
+    protected String getRedeployDirectory() {
+        return null;
+    }
+
+    /**
+     * The log message (regular expression) that is written by the runtime when the application is (re)deployed.
+     *
+     * @return The regular expression for the log message.
+     */
+    protected String getRedeployLogMessage() {
+        return null;
+    }
+
+    public boolean isRedeploySupported() {
+        return getRedeployDirectory() != null;
+    }
+
+    /**
+     * Replaces the application in the running container and waits until the runtime has deployed it. A redeploy
+     * takes only a few seconds compared to starting a new container.
+     *
+     * @param warFileLocation The location of the WAR file on the host.
+     */
+    public void redeploy(String warFileLocation) {
+        if (!isRunning() || !isRedeploySupported()) {
+            throw new UnexpectedException(String.format("Redeploy of the application not possible for container %s", getContainerName()));
+        }
+        long start = System.currentTimeMillis();
+        replaceApplication(warFileLocation);
+        LOGGER.info(String.format("Application redeployed in %s ms", System.currentTimeMillis() - start));
+    }
+
+    /**
+     * Copies the application into the deployment directory and waits until the runtime has written the log message
+     * of the deployment.
+     *
+     * @param warFileLocation The location of the WAR file on the host.
+     */
+    protected void replaceApplication(String warFileLocation) {
+        Pattern logMessage = Pattern.compile(getRedeployLogMessage());
+        long deployments = countLogMessages(logMessage);
+
+        copyFileToContainer(MountableFile.forHostPath(warFileLocation), getRedeployDirectory() + "/" + DEPLOYED_APPLICATION);
+
+        waitForRedeploy(() -> countLogMessages(logMessage) > deployments);
+    }
+
+    private long countLogMessages(Pattern logMessage) {
+        return getLogs().lines()
+                .filter(line -> logMessage.matcher(line).matches())
+                .count();
+    }
+
+    /**
+     * Waits until the redeploy is finished, and fails the test when it takes too long.
+     *
+     * @param redeployed Checks if the redeploy is finished.
+     */
+    protected void waitForRedeploy(BooleanSupplier redeployed) {
+        long timeout = System.currentTimeMillis() + REDEPLOY_TIMEOUT.toMillis();
+        while (!redeployed.getAsBoolean()) {
+            if (System.currentTimeMillis() > timeout) {
+                Assertions.fail(String.format("Application not redeployed within %s seconds", REDEPLOY_TIMEOUT.getSeconds()));
+            }
+            try {
+                Thread.sleep(250);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UnexpectedException("Waiting on redeploy of application interrupted", e);
+            }
+        }
+    }
+
+    @Override
+    protected void containerIsStopping(InspectContainerResponse containerInfo) {
+        super.containerIsStopping(containerInfo);
+        // The clients refer to the mapped port of this container.
+        RestClientCache.evict(getContainerId());
+    }
+
     @Override
     protected void doStart() {
         super.doStart();
@@ -15,20 +15,34 @@
  */
 package be.atbash.testing.integration.container;
 
+import be.atbash.testing.integration.container.exception.UnexpectedException;
 import be.atbash.testing.integration.container.image.DockerImageProcessor;
 import be.atbash.testing.integration.container.image.TestContext;
 import be.atbash.testing.integration.jupiter.ContainerAdapterMetaData;
+import be.atbash.testing.integration.jupiter.DeploymentMode;
 import be.atbash.testing.integration.jupiter.SupportedRuntime;
 import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
+
+import java.util.Arrays;
 
 /**
  * Specialised Container for Wildfly.
  */
 public class GlassfishContainer extends AbstractIntegrationContainer<GlassfishContainer> {
 
+    private static final String DEPLOYMENT_DIR = "DEPLOYMENT_DIR";
+
+    // Only set for the deployment mode COPY.
+    private String warFileLocation;
+
     public GlassfishContainer(ContainerAdapterMetaData metaData, TestContext testContext) {
-        super(DockerImageProcessor.getImage(SupportedRuntime.GLASSFISH, metaData, testContext), metaData.isLiveLogging());
+        super(DockerImageProcessor.getCachedImage(SupportedRuntime.GLASSFISH, metaData, testContext), metaData.isLiveLogging());
+        if (metaData.getDeploymentMode() == DeploymentMode.COPY) {
+            // The deployment directory is only known from the environment variable of the image.
+            warFileLocation = metaData.getWarFileLocation();
+        }
         withExposedPorts(metaData.getPort());
 
         // Check if application is deployed
@@ -48,4 +62,33 @@ public class GlassfishContainer extends AbstractIntegrationContainer<GlassfishCo
         waitingFor(Wait.forLogMessage(".*_MessageID=NCLS-DEPLOYMENT-02035.*", 1));
 
     }
+
+    @Override
+    protected void containerIsCreated(String containerId) {
+        super.containerIsCreated(containerId);
+        if (warFileLocation != null) {
+            String deploymentDirectory = findDeploymentDirectory(containerId);
+            copyFileToContainer(MountableFile.forHostPath(warFileLocation), deploymentDirectory + "/" + DEPLOYED_APPLICATION);
+        }
+    }
+
+    private String findDeploymentDirectory(String containerId) {
+        String[] env = getDockerClient().inspectContainerCmd(containerId).exec().getConfig().getEnv();
+        return Arrays.stream(env == null ? new String[0] : env)
+                .filter(value -> value.startsWith(DEPLOYMENT_DIR + "="))
+                .map(value -> value.substring(DEPLOYMENT_DIR.length() + 1))
+                .findAny()
+                .orElseThrow(() -> new UnexpectedException(String.format("Environment variable %s not defined in Glassfish image", DEPLOYMENT_DIR)));
+    }
+
+    @Override
+    protected String getRedeployDirectory() {
+        // The autodeploy directory is scanned for changes.
+        return findDeploymentDirectory(getContainerId());
+    }
+
+    @Override
+    protected String getRedeployLogMessage() {
+        return ".*_MessageID=NCLS-DEPLOYMENT-02035.*";
+    }
 }
@@ -29,7 +29,7 @@ public class OpenLibertyContainer extends AbstractIntegrationContainer<OpenLiber
 
     public OpenLibertyContainer(ContainerAdapterMetaData metaData, TestContext testContext) {
 
-        super(DockerImageProcessor.getImage(SupportedRuntime.OPEN_LIBERTY, metaData, testContext)
+        super(DockerImageProcessor.getCachedImage(SupportedRuntime.OPEN_LIBERTY, metaData, testContext)
                 , metaData.isLiveLogging());
         withExposedPorts(metaData.getPort());
 
@@ -48,4 +48,15 @@ public class OpenLibertyContainer extends AbstractIntegrationContainer<OpenLiber
         waitingFor(Wait.forHttp("/health"));
 
     }
+
+    @Override
+    protected String getRedeployDirectory() {
+        return "/config/apps";
+    }
+
+    @Override
+    protected String getRedeployLogMessage() {
+        // The application monitor polls the apps directory and reports the update.
+        return ".*CWWKZ0003I: The application .* updated.*";
+    }
 }
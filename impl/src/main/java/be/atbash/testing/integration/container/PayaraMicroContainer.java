@@ -18,6 +18,7 @@ package be.atbash.testing.integration.container;
 import be.atbash.testing.integration.container.image.DockerImageProcessor;
 import be.atbash.testing.integration.container.image.TestContext;
 import be.atbash.testing.integration.jupiter.ContainerAdapterMetaData;
+import be.atbash.testing.integration.jupiter.DeploymentMode;
 import be.atbash.testing.integration.jupiter.SupportedRuntime;
 import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.utility.DockerImageName;
@@ -28,12 +29,17 @@ import org.testcontainers.utility.DockerImageName;
 public class PayaraMicroContainer extends AbstractIntegrationContainer<PayaraMicroContainer> {
 
     public PayaraMicroContainer(ContainerAdapterMetaData metaData, TestContext testContext) {
-        super(DockerImageProcessor.getImage(SupportedRuntime.PAYARA_MICRO, metaData, testContext), metaData.isLiveLogging());
+        super(DockerImageProcessor.getCachedImage(SupportedRuntime.PAYARA_MICRO, metaData, testContext), metaData.isLiveLogging());
         withExposedPorts(metaData.getPort());
 
         // Health point of Payara Micro based on MicroProfile Health
         waitingFor(Wait.forHttp("/health"));
 
+        if (metaData.getDeploymentMode() == DeploymentMode.COPY) {
+            deployByCopy(metaData, "/opt/payara/deployments");
+            withCommand("--deploy", "/opt/payara/deployments/" + DEPLOYED_APPLICATION, "--noCluster", "--contextRoot", "/");
+        }
+
         prepareForRemoteDebug(metaData.isDebug());
     }
 
@@ -15,20 +15,29 @@
  */
 package be.atbash.testing.integration.container;
 
+import be.atbash.testing.integration.container.exception.UnexpectedException;
 import be.atbash.testing.integration.container.image.DockerImageProcessor;
 import be.atbash.testing.integration.container.image.TestContext;
 import be.atbash.testing.integration.jupiter.ContainerAdapterMetaData;
+import be.atbash.testing.integration.jupiter.DeploymentMode;
 import be.atbash.testing.integration.jupiter.SupportedRuntime;
+import org.junit.jupiter.api.Assertions;
+import org.testcontainers.containers.Container.ExecResult;
 import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
+
+import java.io.IOException;
 
 /**
  * Specialised Container for Wildfly.
  */
 public class WildflyContainer extends AbstractIntegrationContainer<WildflyContainer> {
 
+    private static final String DEPLOYMENTS = "/opt/jboss/wildfly/standalone/deployments";
+
     public WildflyContainer(ContainerAdapterMetaData metaData, TestContext testContext) {
-        super(DockerImageProcessor.getImage(SupportedRuntime.WILDFLY, metaData, testContext), metaData.isLiveLogging());
+        super(DockerImageProcessor.getCachedImage(SupportedRuntime.WILDFLY, metaData, testContext), metaData.isLiveLogging());
         withExposedPorts(metaData.getPort(), 9990);
         // port 9990 for the management where health is
 
@@ -36,6 +45,10 @@ public class WildflyContainer extends AbstractIntegrationContainer<WildflyContai
         //waitingFor(Wait.forHttp("/health").forPort(9990));  // FIXME Test out why this isn't working
         waitingFor(Wait.forLogMessage(".*WFLYSRV0010: Deployed \"test.war\".*", 1));
 
+        if (metaData.getDeploymentMode() == DeploymentMode.COPY) {
+            deployByCopy(metaData, DEPLOYMENTS);
+        }
+
         prepareForRemoteDebug(metaData.isDebug());
     }
 
@@ -50,4 +63,44 @@ public class WildflyContainer extends AbstractIntegrationContainer<WildflyContai
         waitingFor(Wait.forLogMessage(".*WFLYSRV0010: Deployed .*", 1));
 
     }
+
+    @Override
+    protected String getRedeployDirectory() {
+        return DEPLOYMENTS;
+    }
+
+    @Override
+    protected void replaceApplication(String warFileLocation) {
+        String application = DEPLOYMENTS + "/" + DEPLOYED_APPLICATION;
+        // Copied under a name that the deployment scanner ignores and renamed afterwards, so that the scanner only
+        // sees the complete file and deploys it once. Touched so that it is newer than the previous marker.
+        copyFileToContainer(MountableFile.forHostPath(warFileLocation), application + ".tmp");
+        execute(String.format("touch %1$s.tmp && mv %1$s.tmp %1$s", application));
+
+        // The scanner writes the marker file when the deployment is finished.
+        String findMarker = String.format("find %s -maxdepth 1 -newer %s \\( -name '%s.deployed' -o -name '%<s.failed' \\)"
+                , DEPLOYMENTS, application, DEPLOYED_APPLICATION);
+        waitForRedeploy(() -> {
+            String marker = execute(findMarker);
+            if (marker.contains(".failed")) {
+                Assertions.fail(String.format("Redeploy of the application failed, see the log of container %s", getContainerName()));
+            }
+            return marker.contains(".deployed");
+        });
+    }
+
+    private String execute(String command) {
+        try {
+            ExecResult result = execInContainer("sh", "-c", command);
+            if (result.getExitCode() != 0) {
+                throw new UnexpectedException(String.format("Command '%s' failed : %s", command, result.getStderr()));
+            }
+            return result.getStdout();
+        } catch (IOException e) {
+            throw new UnexpectedException(String.format("Command '%s' failed", command), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnexpectedException(String.format("Command '%s' interrupted", command), e);
+        }
+    }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.container.image;
+
+import be.atbash.testing.integration.container.exception.FileReadingException;
+import be.atbash.testing.integration.container.exception.UnexpectedException;
+import org.testcontainers.images.builder.ImageFromDockerfile;
+import org.testcontainers.utility.LazyFuture;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The base image of the two-phase image build. The base image contains all stages of the {@link DockerFile} except
+ * the application (runtime, additional software, configuration and JDBC driver) and is tagged by the digest of
+ * its inputs. It is built only once during the test run, the image for each test class only adds the WAR file
+ * on top of it. Can be disabled by setting the System property {@code be.atbash.test.image.base} to false.
+ */
+public final class BaseImage {
+
+    private static final DockerFileStage[] BASE_STAGES = {DockerFileStage.BASE, DockerFileStage.RUNTIME_CONFIG, DockerFileStage.LIBRARIES};
+
+    private static final String WAR_FILE = "test.war";
+
+    // Key is the image name with tag, so identical base images are only built once.
+    private static final Map<String, Future<String>> BUILDS = new ConcurrentHashMap<>();
+
+    private final String imageName;
+    private final Future<String> build;
+
+    private BaseImage(String imageName, Future<String> build) {
+        this.imageName = imageName;
+        this.build = build;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("be.atbash.test.image.base", "true"));
+    }
+
+    /**
+     * Define the base image from the non-application stages of the Docker build file. All files in the build
+     * directory, except the WAR file, are part of the build context of the base image.
+     *
+     * @param repository The name of the image, without tag.
+     * @param dockerFile The Docker build file with all stages.
+     * @param tempDir    The directory with all files for the build.
+     * @return The base image
+     */
+    public static BaseImage define(String repository, DockerFile dockerFile, Path tempDir) {
+        DockerFile baseDockerFile = new DockerFile();
+        for (DockerFileStage stage : BASE_STAGES) {
+            dockerFile.getInstructions(stage).forEach(instruction -> baseDockerFile.add(stage, instruction));
+        }
+        String content = baseDockerFile.getContent();
+
+        Predicate<Path> contextFile = path -> !isExcluded(tempDir.relativize(path).toString());
+        String digest = new ContentDigest()
+                .add(content)
+                .addDirectory(tempDir, contextFile)
+                .toHex();
+
+        String imageName = repository + ":" + digest;
+        Future<String> build = BUILDS.computeIfAbsent(imageName, name -> ImageCache.lookup(createImage(name, content, tempDir, contextFile)));
+        return new BaseImage(imageName, build);
+    }
+
+    private static boolean isExcluded(String relativePath) {
+        return WAR_FILE.equals(relativePath)
+                || DockerImageProducer.DOCKERFILE.equals(relativePath);
+    }
+
+    private static ImageFromDockerfile createImage(String imageName, String content, Path tempDir, Predicate<Path> contextFile) {
+        // When the image cache is disabled, the image is removed at the end of the test run.
+        ImageFromDockerfile result = new ImageFromDockerfile(imageName, !ImageCache.isEnabled())
+                .withFileFromString(DockerImageProducer.DOCKERFILE, content);
+        for (Path file : listFiles(tempDir, contextFile)) {
+            result.withFileFromPath(tempDir.relativize(file).toString(), file);
+        }
+        return result;
+    }
+
+    private static List<Path> listFiles(Path directory, Predicate<Path> filter) {
+        try (Stream<Path> pathStream = Files.walk(directory)) {
+            return pathStream
+                    .filter(Files::isRegularFile)
+                    .filter(filter)
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new FileReadingException(directory.toAbsolutePath().toString(), e);
+        }
+    }
+
+    public String getImageName() {
+        return imageName;
+    }
+
+    /**
+     * The Docker build file for the test class that adds the application on top of the base image.
+     *
+     * @param dockerFile The Docker build file with all stages.
+     * @return The Docker build file for the application image.
+     */
+    public DockerFile applicationDockerFile(DockerFile dockerFile) {
+        DockerFile result = new DockerFile().add(DockerFileStage.BASE, "FROM " + imageName);
+        dockerFile.getInstructions(DockerFileStage.APPLICATION)
+                .forEach(instruction -> result.add(DockerFileStage.APPLICATION, instruction));
+        return result;
+    }
+
+    /**
+     * Makes sure the base image is available before the application image is resolved.
+     *
+     * @param applicationImage The future of the application image.
+     * @return The future that resolves to the application image name.
+     */
+    public Future<String> before(Future<String> applicationImage) {
+        return new LazyFuture<>() {
+            @Override
+            protected String resolve() {
+                return resolveBoth(applicationImage);
+            }
+        };
+    }
+
+    private String resolveBoth(Future<String> applicationImage) {
+        try {
+            build.get();
+            return applicationImage.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnexpectedException("Build of the image interrupted", e);
+        } catch (ExecutionException e) {
+            throw new UnexpectedException("Build of the image failed", e.getCause());
+        }
+    }
+}
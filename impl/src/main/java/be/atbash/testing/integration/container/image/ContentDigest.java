@@ -0,0 +1,119 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.container.image;
+
+import be.atbash.testing.integration.container.exception.FileReadingException;
+import be.atbash.testing.integration.container.exception.UnexpectedException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Calculates a SHA-256 digest over text values and file contents. Used to determine if 2 configurations
+ * (container, Docker image, ...) are identical.
+ */
+public class ContentDigest {
+
+    private final MessageDigest messageDigest;
+
+    public ContentDigest() {
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new UnexpectedException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    public ContentDigest add(String value) {
+        // Also add a separator so that ("ab", "c") and ("a", "bc") result in a different digest.
+        messageDigest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        messageDigest.update((byte) 0);
+        return this;
+    }
+
+    public ContentDigest addFile(Path file) {
+        byte[] buffer = new byte[8192];
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new FileReadingException(file.toAbsolutePath().toString(), e);
+        }
+        messageDigest.update((byte) 0);
+        return this;
+    }
+
+    /**
+     * Add the relative path and the content of all regular files within the directory (and subdirectories).
+     * Files are processed in a fixed order so that the digest doesn't depend on the order of the file system.
+     *
+     * @param directory The top level directory
+     * @return this instance
+     */
+    public ContentDigest addDirectory(Path directory) {
+        return addDirectory(directory, path -> true);
+    }
+
+    /**
+     * Add the relative path and the content of the regular files within the directory (and subdirectories)
+     * that are accepted by the filter.
+     *
+     * @param directory The top level directory
+     * @param filter    Determines if the file is included.
+     * @return this instance
+     */
+    public ContentDigest addDirectory(Path directory, Predicate<Path> filter) {
+        List<Path> files;
+        try (Stream<Path> pathStream = Files.walk(directory)) {
+            files = pathStream
+                    .filter(Files::isRegularFile)
+                    .filter(filter)
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new FileReadingException(directory.toAbsolutePath().toString(), e);
+        }
+        for (Path file : files) {
+            add(directory.relativize(file).toString());
+            addFile(file);
+        }
+        return this;
+    }
+
+    /**
+     * Return the digest as hexadecimal string. The instance should not be used anymore afterwards.
+     *
+     * @return Hexadecimal representation of the digest.
+     */
+    public String toHex() {
+        StringBuilder result = new StringBuilder();
+        for (byte b : messageDigest.digest()) {
+            result.append(String.format("%02x", b));
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.container.image;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Structured content of a Docker build file. Instructions are added to a {@link DockerFileStage} and the content
+ * is always assembled with the stages from the least to the most volatile one, whatever the order the instructions
+ * are added by the producers and the adapters.
+ */
+public class DockerFile {
+
+    private static final String WAR_FILE = "test.war";
+
+    private final Map<DockerFileStage, List<String>> instructions = new EnumMap<>(DockerFileStage.class);
+
+    public DockerFile() {
+        for (DockerFileStage stage : DockerFileStage.values()) {
+            instructions.put(stage, new ArrayList<>());
+        }
+    }
+
+    /**
+     * Parse the content of an existing Docker build file. All lines up to the first FROM instruction are
+     * assigned to the {@code BASE} stage, the instruction adding the application and all lines after it to the
+     * {@code APPLICATION} stage (in their original order as they can depend on the application) and all other
+     * lines to the {@code RUNTIME_CONFIG} stage.
+     *
+     * @param content The content of the Docker build file.
+     * @return The structured Docker build file.
+     */
+    public static DockerFile parse(String content) {
+        DockerFile result = new DockerFile();
+        result.replaceContent(content);
+        return result;
+    }
+
+    /**
+     * Replace all instructions by the parsed content. See {@link #parse(String)}.
+     *
+     * @param content The content of the Docker build file.
+     */
+    public void replaceContent(String content) {
+        instructions.values().forEach(List::clear);
+
+        boolean fromFound = false;
+        DockerFileStage stage = DockerFileStage.BASE;
+        boolean continuation = false;
+        for (String line : content.split("\n")) {
+            if (!continuation && stage != DockerFileStage.APPLICATION) {
+                // A line that is the continuation of the previous instruction stays in the same stage.
+                // All lines after the application is added stay in the APPLICATION stage.
+                stage = fromFound ? determineStage(line) : DockerFileStage.BASE;
+            }
+            instructions.get(stage).add(line);
+            fromFound = fromFound || isInstruction(line, "FROM");
+            continuation = line.trim().endsWith("\\");
+        }
+        if (!fromFound) {
+            // Not a real Docker build file, keep everything in the order it was defined.
+            List<String> allLines = getAllInstructions();
+            instructions.values().forEach(List::clear);
+            instructions.get(DockerFileStage.BASE).addAll(allLines);
+        }
+    }
+
+    private static DockerFileStage determineStage(String line) {
+        boolean addsApplication = (isInstruction(line, "ADD") || isInstruction(line, "COPY")) && line.contains(WAR_FILE);
+        return addsApplication ? DockerFileStage.APPLICATION : DockerFileStage.RUNTIME_CONFIG;
+    }
+
+    private static boolean isInstruction(String line, String instruction) {
+        return line.trim().toUpperCase(Locale.ENGLISH).startsWith(instruction + " ");
+    }
+
+    /**
+     * Add the instruction at the end of the stage.
+     *
+     * @param stage       The stage the instruction belongs to.
+     * @param instruction The instruction.
+     * @return This instance to allow chaining.
+     */
+    public DockerFile add(DockerFileStage stage, String instruction) {
+        instructions.get(stage).add(instruction);
+        return this;
+    }
+
+    public List<String> getInstructions(DockerFileStage stage) {
+        return Collections.unmodifiableList(instructions.get(stage));
+    }
+
+    /**
+     * Find the first instruction that contains a certain text.
+     *
+     * @param dataOnLine Text to be found.
+     * @return The instruction or empty when not found.
+     */
+    public Optional<String> findInstruction(String dataOnLine) {
+        return getAllInstructions().stream()
+                .filter(line -> line.contains(dataOnLine))
+                .findFirst();
+    }
+
+    /**
+     * Replaces the instruction, within the stage where it is defined, by a new instruction.
+     *
+     * @param instruction    The instruction that needs to be replaced.
+     * @param newInstruction The new instruction.
+     */
+    public void replaceInstruction(String instruction, String newInstruction) {
+        for (List<String> lines : instructions.values()) {
+            int idx = lines.indexOf(instruction);
+            if (idx != -1) {
+                lines.set(idx, newInstruction);
+                return;
+            }
+        }
+    }
+
+    private List<String> getAllInstructions() {
+        return instructions.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Assemble the content of the Docker build file.
+     *
+     * @return The content of the Docker build file with the stages from the least to the most volatile.
+     */
+    public String getContent() {
+        return String.join("\n", getAllInstructions());
+    }
+
+    @Override
+    public String toString() {
+        return getContent();
+    }
+}
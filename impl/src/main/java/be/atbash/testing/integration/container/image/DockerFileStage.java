@@ -0,0 +1,41 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.container.image;
+
+/**
+ * The stages of a {@link DockerFile}, ordered from the least to the most volatile. The instructions
+ * are always written in this order so that a change in the application only invalidates the last layer
+ * and Docker can reuse the cached layers of the other stages.
+ */
+public enum DockerFileStage {
+
+    /**
+     * The FROM instruction and the installation of additional software in the image.
+     */
+    BASE,
+    /**
+     * Configuration of the runtime, like configuration files, entry point and the command.
+     */
+    RUNTIME_CONFIG,
+    /**
+     * Additional libraries like the JDBC driver.
+     */
+    LIBRARIES,
+    /**
+     * The application itself.
+     */
+    APPLICATION
+}
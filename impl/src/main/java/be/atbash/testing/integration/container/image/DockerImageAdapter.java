@@ -26,7 +26,28 @@ import be.atbash.testing.integration.jupiter.SupportedRuntime;
  */
 public interface DockerImageAdapter {
 
-    String adapt(String dockerFileContent, TestContext testContext);
+    /**
+     * Adapt the Docker build file by adding instructions to the appropriate {@link DockerFileStage}.
+     *
+     * @param dockerFile  The Docker build file
+     * @param testContext The context with the metadata of the test.
+     */
+    void adapt(DockerFile dockerFile, TestContext testContext);
+
+    /**
+     * Adapt the content of the Docker build file.
+     *
+     * @param dockerFileContent The content of the Docker build file.
+     * @param testContext       The context with the metadata of the test.
+     * @return The adapted content.
+     * @deprecated Use {@link #adapt(DockerFile, TestContext)} so that instructions are placed in the correct stage.
+     */
+    @Deprecated
+    default String adapt(String dockerFileContent, TestContext testContext) {
+        DockerFile dockerFile = DockerFile.parse(dockerFileContent);
+        adapt(dockerFile, testContext);
+        return dockerFile.getContent();
+    }
 
     default SupportedRuntime supportedRuntime() {
         return SupportedRuntime.DEFAULT;
@@ -15,9 +15,17 @@
  */
 package be.atbash.testing.integration.container.image;
 
+import be.atbash.testing.integration.container.exception.UnexpectedException;
 import be.atbash.testing.integration.jupiter.ContainerAdapterMetaData;
+import be.atbash.testing.integration.jupiter.DeploymentMode;
 import be.atbash.testing.integration.jupiter.SupportedRuntime;
+import org.testcontainers.images.RemoteDockerImage;
 import org.testcontainers.images.builder.ImageFromDockerfile;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.LazyFuture;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * A Helper class that generates the Dockerfile and dependencies within a temp directory.
@@ -30,10 +38,58 @@ public final class DockerImageProcessor {
     }
 
     public static ImageFromDockerfile getImage(SupportedRuntime supportedRuntime, ContainerAdapterMetaData metaData, TestContext testContext) {
-        String version = System.getProperty("be.atbash.test.runtime.version", "");
         DockerImageProducer producer = retrieveProducer(supportedRuntime);
 
-        return producer.getImage(metaData, version, testContext);
+        return producer.getImage(metaData, getVersion(), testContext);
+    }
+
+    /**
+     * Returns the image of the runtime itself, without the application. The image is pulled when not available locally.
+     */
+    public static Future<String> getRuntimeImage(SupportedRuntime supportedRuntime) {
+        DockerImageProducer producer = retrieveProducer(supportedRuntime);
+
+        return new RemoteDockerImage(DockerImageName.parse(producer.getRuntimeImage(getVersion())));
+    }
+
+    private static String getVersion() {
+        return System.getProperty("be.atbash.test.runtime.version", "");
+    }
+
+    /**
+     * Returns the image for the test but the build is skipped when an identical image is already available.
+     * See {@link ImageCache} and {@link BaseImage}. With the deployment mode {@code COPY}, the image of the runtime is returned.
+     * The assembly of the build directory and the build itself are only performed when the future is resolved
+     * so that it can be done concurrently with the start of other containers.
+     */
+    public static Future<String> getCachedImage(SupportedRuntime supportedRuntime, ContainerAdapterMetaData metaData, TestContext testContext) {
+        if (metaData.getDeploymentMode() == DeploymentMode.COPY) {
+            // No image is built, the container copies the application into the runtime image.
+            return getRuntimeImage(supportedRuntime);
+        }
+        return new LazyFuture<>() {
+            @Override
+            protected String resolve() {
+                return resolveImage(supportedRuntime, metaData, testContext);
+            }
+        };
+    }
+
+    private static String resolveImage(SupportedRuntime supportedRuntime, ContainerAdapterMetaData metaData, TestContext testContext) {
+        Future<String> result = ImageCache.lookup(getImage(supportedRuntime, metaData, testContext));
+        BaseImage baseImage = testContext.getInstance(BaseImage.class);
+        if (baseImage != null) {
+            // The image of the test class is build on top of the base image.
+            result = baseImage.before(result);
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnexpectedException("Build of the image interrupted", e);
+        } catch (ExecutionException e) {
+            throw new UnexpectedException("Build of the image failed", e.getCause());
+        }
     }
 
     private static DockerImageProducer retrieveProducer(SupportedRuntime supportedRuntime) {
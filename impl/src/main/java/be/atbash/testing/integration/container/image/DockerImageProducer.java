@@ -49,6 +49,14 @@ public abstract class DockerImageProducer {
      */
     abstract ImageFromDockerfile getImage(ContainerAdapterMetaData metaData, String version, TestContext testContext);
 
+    /**
+     * The name of the image of the runtime itself, used as the base for the image with the application.
+     *
+     * @param version The version or image name specified by the user.
+     * @return The image name.
+     */
+    abstract String getRuntimeImage(String version);
+
     protected String defineFromImageName(String imageName, String suppliedVersion, String defaultTagName) {
         if (suppliedVersion.contains("/") || suppliedVersion.contains(":")) {
             // It looks like the user specified a imageName with version number, so use that one.
@@ -79,6 +87,29 @@ public abstract class DockerImageProducer {
         return dockerPath;
     }
 
+    /**
+     * Saves the Dockerfile and defines the image. When the two-phase build is active, the image only adds the
+     * application to the {@link BaseImage} that is available from the {@code TestContext} afterwards.
+     *
+     * @param repository  The first part of the image name, identifying the runtime.
+     * @param warName     The name of the WAR file.
+     * @param dockerFile  The Docker build file
+     * @param tempDir     The directory with all files for the build.
+     * @param testContext The context of the test.
+     * @return The image definition.
+     */
+    protected ImageFromDockerfile defineImage(String repository, String warName, DockerFile dockerFile, Path tempDir, TestContext testContext) throws IOException {
+        DockerFile imageDockerFile = dockerFile;
+        if (BaseImage.isEnabled()) {
+            BaseImage baseImage = BaseImage.define(repository + "/base", dockerFile, tempDir);
+            testContext.addInstance(baseImage);
+            imageDockerFile = baseImage.applicationDockerFile(dockerFile);
+        }
+
+        Path dockerPath = saveDockerFile(imageDockerFile.getContent(), tempDir);
+        return ImageCache.defineImage(repository + "/" + warName, dockerPath);
+    }
+
     protected String loadOptionalDockerFile(String location) {
         if (location == null) {
             return null;
@@ -137,13 +168,21 @@ public abstract class DockerImageProducer {
         return tempDirWithPrefix.resolve(endPath);
     }
 
-    protected String postProcessDockerFileContent(String dockerFileContent, SupportedRuntime supportedRuntime, TestContext testContext) {
+    protected DockerFile defineDockerFile(String location, String fromImage) {
+        String content = loadOptionalDockerFile(location);
+
+        if (content == null) {
+            // Default content for DockerFile
+            return new DockerFile().add(DockerFileStage.BASE, "FROM " + fromImage);
+        }
+        return DockerFile.parse(content);
+    }
+
+    protected void postProcessDockerFile(DockerFile dockerFile, SupportedRuntime supportedRuntime, TestContext testContext) {
         List<DockerImageAdapter> adapters = loadAllAdapters(supportedRuntime);
-        String result = dockerFileContent;
         for (DockerImageAdapter adapter : adapters) {
-            result = adapter.adapt(result, testContext);
+            adapter.adapt(dockerFile, testContext);
         }
-        return result;
     }
 
     private List<DockerImageAdapter> loadAllAdapters(SupportedRuntime supportedRuntime) {
@@ -25,10 +25,16 @@ import java.nio.file.Path;
 
 public class GlassfishDockerImageProducer extends DockerImageProducer {
 
+    @Override
+    public String getRuntimeImage(String version) {
+        return defineFromImageName("airhacks/glassfish", version, "5.1.0");
+    }
+
     @Override
     public ImageFromDockerfile getImage(ContainerAdapterMetaData metaData, String version, TestContext testContext) {
-        String fromImage = defineFromImageName("airhacks/glassfish", version, "5.1.0");
-        String dockerFileContent = postProcessDockerFileContent(defineDockerfileContent(fromImage, metaData.getCustomBuildDirectory()), SupportedRuntime.GLASSFISH, testContext);
+        String fromImage = getRuntimeImage(version);
+        DockerFile dockerFile = defineDockerfileContent(fromImage, metaData.getCustomBuildDirectory());
+        postProcessDockerFile(dockerFile, SupportedRuntime.GLASSFISH, testContext);
 
         try {
 
@@ -38,29 +44,20 @@ public class GlassfishDockerImageProducer extends DockerImageProducer {
                 copyLocationContentToTempFile(metaData.getCustomBuildDirectory(), tempDirWithPrefix);
             }
 
-            // Create the Dockerfile
-            Path dockerPath = saveDockerFile(dockerFileContent, tempDirWithPrefix);
-
             // Copy the WAR File
             String name = copyWARFile(metaData.getWarFileLocation(), tempDirWithPrefix);
 
-            return new ImageFromDockerfile("atbash-glassfish/" + name)
-                    .withDockerfile(dockerPath);
+            return defineImage("atbash-glassfish", name, dockerFile, tempDirWithPrefix, testContext);
         } catch (IOException e) {
             Assertions.fail(e.getMessage());
         }
         return null;
     }
 
-    private String defineDockerfileContent(String fromVersion, String location) {
-        String content = loadOptionalDockerFile(location);
-
-        if (content == null) {
-            // Default content for DockerFile
-            content = "FROM " + fromVersion;
-        }
-        return content + "\n" +
-                "ADD test.war ${DEPLOYMENT_DIR} \n";
+    private DockerFile defineDockerfileContent(String fromVersion, String location) {
+        DockerFile result = defineDockerFile(location, fromVersion);
+        result.add(DockerFileStage.APPLICATION, "ADD test.war ${DEPLOYMENT_DIR} ");
+        return result;
     }
 
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.container.image;
+
+import com.github.dockerjava.api.exception.NotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.images.builder.ImageFromDockerfile;
+import org.testcontainers.utility.LazyFuture;
+
+import java.nio.file.Path;
+import java.util.concurrent.Future;
+
+/**
+ * Content addressed cache for the images we build. The image is tagged with the digest of all files in the build
+ * directory (Dockerfile, WAR file, files of the custom build directory, JDBC driver, ...) and is not removed at the end
+ * of the test run. When an image with that tag is already available locally, the build is skipped.
+ * The cache can be disabled by setting the System property {@code be.atbash.test.image.cache} to false.
+ */
+public final class ImageCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageCache.class);
+
+    private ImageCache() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("be.atbash.test.image.cache", "true"));
+    }
+
+    /**
+     * Define the image that will be build from the build directory of the Dockerfile.
+     *
+     * @param imageName  The name of the image, without tag.
+     * @param dockerPath The Dockerfile, all files in the same directory are part of the build.
+     * @return The image definition.
+     */
+    public static ImageFromDockerfile defineImage(String imageName, Path dockerPath) {
+        if (!isEnabled()) {
+            return new ImageFromDockerfile(imageName)
+                    .withDockerfile(dockerPath);
+        }
+        String digest = new ContentDigest().addDirectory(dockerPath.getParent()).toHex();
+        // deleteOnExit false so that the image can be used in the next test run.
+        return new ImageFromDockerfile(imageName + ":" + digest, false)
+                .withDockerfile(dockerPath);
+    }
+
+    /**
+     * Returns the image name when the image is already available locally, otherwise the image is build.
+     *
+     * @param image The image definition
+     * @return The future that resolves to the image name.
+     */
+    public static Future<String> lookup(ImageFromDockerfile image) {
+        if (image.isDeleteOnExit()) {
+            // Not a cacheable image.
+            return image;
+        }
+        return new LazyFuture<>() {
+            @Override
+            protected String resolve() {
+                String imageName = image.getDockerImageName();
+                if (imageExists(imageName)) {
+                    LOGGER.info(String.format("Using cached image %s, build is skipped", imageName));
+                    return imageName;
+                }
+                return image.get();
+            }
+        };
+    }
+
+    public static boolean imageExists(String imageName) {
+        try {
+            DockerClientFactory.instance().client().inspectImageCmd(imageName).exec();
+            return true;
+        } catch (NotFoundException e) {
+            return false;
+        }
+    }
+}
@@ -27,10 +27,16 @@ import java.nio.file.Path;
 
 public class OpenLibertyDockerImageProducer extends DockerImageProducer {
 
+    @Override
+    public String getRuntimeImage(String version) {
+        return defineFromImageName("openliberty/open-liberty", version, "22.0.0.10-full-java11-openj9-ubi");
+    }
+
     @Override
     public ImageFromDockerfile getImage(ContainerAdapterMetaData metaData, String version, TestContext testContext) {
-        String fromImage = defineFromImageName("openliberty/open-liberty", version, "22.0.0.10-full-java11-openj9-ubi");
-        String dockerFileContent = postProcessDockerFileContent(defineDockerfileContent(fromImage, metaData.getCustomBuildDirectory()), SupportedRuntime.OPEN_LIBERTY, testContext);
+        String fromImage = getRuntimeImage(version);
+        DockerFile dockerFile = defineDockerfileContent(fromImage, metaData.getCustomBuildDirectory());
+        postProcessDockerFile(dockerFile, SupportedRuntime.OPEN_LIBERTY, testContext);
 
         try {
             Path tempDirWithPrefix = metaData.getTempDir();
@@ -39,9 +45,6 @@ public class OpenLibertyDockerImageProducer extends DockerImageProducer {
                 copyLocationContentToTempFile(metaData.getCustomBuildDirectory(), tempDirWithPrefix);
             }
 
-            // Create the Dockerfile
-            Path dockerPath = saveDockerFile(dockerFileContent, tempDirWithPrefix);
-
             // Copy the WAR File
             String name = copyWARFile(metaData.getWarFileLocation(), tempDirWithPrefix);
 
@@ -49,26 +52,26 @@ public class OpenLibertyDockerImageProducer extends DockerImageProducer {
             File configFile = new File("src/main/liberty/config/server.xml");
             Files.copy(configFile.toPath(), tempDirWithPrefix.resolve("server.xml"));
 
-            return new ImageFromDockerfile("atbash-openliberty/" + name)
-                    .withDockerfile(dockerPath);
+            return defineImage("atbash-openliberty", name, dockerFile, tempDirWithPrefix, testContext);
         } catch (IOException e) {
             Assertions.fail(e.getMessage());
         }
         return null;
     }
 
-    private String defineDockerfileContent(String fromVersion, String location) {
-
-        String content = loadOptionalDockerFile(location);
-
-        if (content == null) {
+    private DockerFile defineDockerfileContent(String fromVersion, String location) {
+        DockerFile result;
+        if (loadOptionalDockerFile(location) == null) {
             // Default content for DockerFile
-            content = "FROM " + fromVersion + "\n" +
-                    "EXPOSE 5005 \n" +
-                    "ADD server.xml /config/server.xml \n" +
-                    "RUN configure.sh";
+            result = new DockerFile()
+                    .add(DockerFileStage.BASE, "FROM " + fromVersion)
+                    .add(DockerFileStage.RUNTIME_CONFIG, "EXPOSE 5005 ")
+                    .add(DockerFileStage.RUNTIME_CONFIG, "ADD server.xml /config/server.xml ")
+                    .add(DockerFileStage.RUNTIME_CONFIG, "RUN configure.sh");
+        } else {
+            result = defineDockerFile(location, fromVersion);
         }
-        return content + "\n" +
-                "ADD test.war /config/apps \n";
+        result.add(DockerFileStage.APPLICATION, "ADD test.war /config/apps ");
+        return result;
     }
 }
@@ -25,10 +25,16 @@ import java.nio.file.Path;
 
 public class PayaraMicroDockerImageProducer extends DockerImageProducer {
 
+    @Override
+    public String getRuntimeImage(String version) {
+        return defineFromImageName("payara/micro", version, "5.2022.4-jdk11");
+    }
+
     @Override
     public ImageFromDockerfile getImage(ContainerAdapterMetaData metaData, String version, TestContext testContext) {
-        String fromImage = defineFromImageName("payara/micro", version, "5.2022.4-jdk11");
-        String dockerFileContent = postProcessDockerFileContent(defineDockerfileContent(fromImage, metaData.getCustomBuildDirectory()), SupportedRuntime.PAYARA_MICRO, testContext);
+        String fromImage = getRuntimeImage(version);
+        DockerFile dockerFile = defineDockerfileContent(fromImage, metaData.getCustomBuildDirectory());
+        postProcessDockerFile(dockerFile, SupportedRuntime.PAYARA_MICRO, testContext);
 
         try {
             Path tempDirWithPrefix = metaData.getTempDir();
@@ -37,30 +43,21 @@ public class PayaraMicroDockerImageProducer extends DockerImageProducer {
                 copyLocationContentToTempFile(metaData.getCustomBuildDirectory(), tempDirWithPrefix);
             }
 
-            // Create the Dockerfile
-            Path dockerPath = saveDockerFile(dockerFileContent, tempDirWithPrefix);
-
             // Copy the WAR File
             String name = copyWARFile(metaData.getWarFileLocation(), tempDirWithPrefix);
 
-            return new ImageFromDockerfile("atbash-payara/" + name)
-                    .withDockerfile(dockerPath);
+            return defineImage("atbash-payara", name, dockerFile, tempDirWithPrefix, testContext);
         } catch (IOException e) {
             Assertions.fail(e.getMessage());
         }
         return null;
     }
 
-    private String defineDockerfileContent(String fromVersion, String location) {
-        String content = loadOptionalDockerFile(location);
-
-        if (content == null) {
-            // Default content for DockerFile
-            content = "FROM " + fromVersion;
-        }
-        return content + "\n" +
-                "CMD [\"--deploy\", \"/opt/payara/deployments/test.war\", \"--noCluster\",  \"--contextRoot\", \"/\"]\n" +
-                "ADD test.war /opt/payara/deployments \n";
+    private DockerFile defineDockerfileContent(String fromVersion, String location) {
+        DockerFile result = defineDockerFile(location, fromVersion);
+        result.add(DockerFileStage.RUNTIME_CONFIG, "CMD [\"--deploy\", \"/opt/payara/deployments/test.war\", \"--noCluster\",  \"--contextRoot\", \"/\"]");
+        result.add(DockerFileStage.APPLICATION, "ADD test.war /opt/payara/deployments ");
+        return result;
     }
 
 }
@@ -25,10 +25,16 @@ import java.nio.file.Path;
 
 public class WildFlyDockerImageProducer extends DockerImageProducer {
 
+    @Override
+    public String getRuntimeImage(String version) {
+        return defineFromImageName("quay.io/wildfly/wildfly", version, "26.1.2.Final");
+    }
+
     @Override
     public ImageFromDockerfile getImage(ContainerAdapterMetaData metaData, String version, TestContext testContext) {
-        String fromImage = defineFromImageName("quay.io/wildfly/wildfly", version, "26.1.2.Final");
-        String dockerFileContent = postProcessDockerFileContent(defineDockerfileContent(fromImage, metaData.getCustomBuildDirectory()), SupportedRuntime.WILDFLY, testContext);
+        String fromImage = getRuntimeImage(version);
+        DockerFile dockerFile = defineDockerfileContent(fromImage, metaData.getCustomBuildDirectory());
+        postProcessDockerFile(dockerFile, SupportedRuntime.WILDFLY, testContext);
 
         try {
             Path tempDirWithPrefix = metaData.getTempDir();
@@ -37,14 +43,10 @@ public class WildFlyDockerImageProducer extends DockerImageProducer {
                 copyLocationContentToTempFile(metaData.getCustomBuildDirectory(), tempDirWithPrefix);
             }
 
-            // Create the Dockerfile
-            Path dockerPath = saveDockerFile(dockerFileContent, tempDirWithPrefix);
-
             // Copy the WAR File
             String name = copyWARFile(metaData.getWarFileLocation(), tempDirWithPrefix);
 
-            return new ImageFromDockerfile("atbash-wildfly/" + name)
-                    .withDockerfile(dockerPath);
+            return defineImage("atbash-wildfly", name, dockerFile, tempDirWithPrefix, testContext);
         } catch (IOException e) {
             Assertions.fail(e.getMessage());
         }
@@ -52,16 +54,10 @@ public class WildFlyDockerImageProducer extends DockerImageProducer {
     }
 
 
-    private String defineDockerfileContent(String fromVersion, String location) {
-
-        String content = loadOptionalDockerFile(location);
-
-        if (content == null) {
-            // Default content for DockerFile
-            content = "FROM " + fromVersion;
-        }
-        return content + "\n" +
-                "ADD test.war /opt/jboss/wildfly/standalone/deployments \n";
+    private DockerFile defineDockerfileContent(String fromVersion, String location) {
+        DockerFile result = defineDockerFile(location, fromVersion);
+        result.add(DockerFileStage.APPLICATION, "ADD test.war /opt/jboss/wildfly/standalone/deployments ");
+        return result;
     }
 
 }
@@ -17,17 +17,20 @@ package be.atbash.testing.integration.jupiter;
 
 import be.atbash.testing.integration.container.AbstractIntegrationContainer;
 import be.atbash.testing.integration.test.AbstractContainerIntegrationTest;
-import com.fasterxml.jackson.jaxrs.json.JacksonJsonProvider;
-import org.eclipse.microprofile.rest.client.RestClientBuilder;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.extension.*;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 
 import java.lang.reflect.Field;
 import java.net.URI;
 
-public abstract class AbstractContainerIntegrationTestExtension  implements BeforeAllCallback, BeforeEachCallback,  AfterAllCallback, TestInstancePostProcessor, AfterEachCallback {
+/**
+ * Base for the JUnit5 extensions. The metadata and the controller of a test class are kept in the {@code ExtensionContext.Store}
+ * of that test class and not in the extension instance, so that test classes can be executed in parallel.
+ */
+public abstract class AbstractContainerIntegrationTestExtension  implements BeforeAllCallback, BeforeEachCallback,  AfterAllCallback, TestInstancePostProcessor, AfterEachCallback, ParameterResolver {
 
-    protected ContainerAdapterMetaData metaData;
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(AbstractContainerIntegrationTestExtension.class);
 
     protected void checkTestClass(Class<?> testClass) {
         if (!hasAbstractClass(testClass.getSuperclass())) {
@@ -43,7 +46,46 @@ public abstract class AbstractContainerIntegrationTestExtension  implements Befo
         return result;
     }
 
-    protected void prepareClients(Object testInstance, AbstractIntegrationContainer<?> container) throws IllegalAccessException {
+    /**
+     * Keep the metadata and the controller in the store of the test class. Within the context of a test method,
+     * they are found through the parent context.
+     *
+     * @param extensionContext The context of the test class.
+     * @param metaData         The metadata of the test class.
+     * @param controller       The controller of the test class.
+     */
+    protected void storeState(ExtensionContext extensionContext, ContainerAdapterMetaData metaData, TestcontainersController controller) {
+        ExtensionContext.Store store = extensionContext.getStore(NAMESPACE);
+        store.put(ContainerAdapterMetaData.class, metaData);
+        store.put(TestcontainersController.class, controller);
+    }
+
+    /**
+     * Is the test method executed concurrently with the other test methods of the class (through
+     * {@code @Execution(ExecutionMode.CONCURRENT)} or the JUnit configuration), all against the same container running
+     * the application. The execution mode of the class itself only defines if the class runs concurrently with other classes.
+     *
+     * @param extensionContext The context of the test method.
+     * @return true when the test method runs concurrently.
+     */
+    protected boolean isConcurrentTestMethod(ExtensionContext extensionContext) {
+        return extensionContext.getTestMethod().isPresent() && extensionContext.getExecutionMode() == ExecutionMode.CONCURRENT;
+    }
+
+    protected ContainerAdapterMetaData getMetaData(ExtensionContext extensionContext) {
+        return extensionContext.getStore(NAMESPACE).get(ContainerAdapterMetaData.class, ContainerAdapterMetaData.class);
+    }
+
+    protected <T extends TestcontainersController> T getController(ExtensionContext extensionContext, Class<T> controllerClass) {
+        return extensionContext.getStore(NAMESPACE).get(TestcontainersController.class, controllerClass);
+    }
+
+    /**
+     * Set the MicroProfile Rest Clients in the fields of the test instance. The clients are reused by all test
+     * instances as long as the container is running, see {@link RestClientCache}. When the test method runs
+     * concurrently with others, each thread uses its own client.
+     */
+    protected void prepareClients(Object testInstance, ContainerAdapterMetaData metaData, AbstractIntegrationContainer<?> container, boolean concurrent) throws IllegalAccessException {
         String root = "";
 
         if (metaData.getSupportedRuntime() == SupportedRuntime.WILDFLY || metaData.getSupportedRuntime() == SupportedRuntime.GLASSFISH) {
@@ -54,15 +96,46 @@ public abstract class AbstractContainerIntegrationTestExtension  implements Befo
         URI baseURI = URI.create(String.format("http://localhost:%s%s", container.getMappedPort(metaData.getPort()), root));
 
         for (Field field : metaData.getRestClientFields()) {
-            Object restClient = RestClientBuilder.newBuilder().  // From MicroProfile Rest Client
-                    register(JacksonJsonProvider.class).  // Support JSON-B
-                    baseUri(baseURI).
-                    build(field.getType());  // Create proxy based on the interface and information of the endpoints.
+            Object restClient = RestClientCache.getClient(container.getContainerId(), field.getType(), baseURI, concurrent);
 
             field.setAccessible(true);  // TODO Why is this required
             field.set(testInstance, restClient);
         }
     }
 
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return findParameterValue(parameterContext.getParameter().getType(), extensionContext) != null;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return findParameterValue(parameterContext.getParameter().getType(), extensionContext);
+    }
+
+    /**
+     * Determine the value for a parameter of a constructor, a lifecycle or a test method.
+     *
+     * @param type             The type of the parameter.
+     * @param extensionContext The context of the test class or test method.
+     * @return The value or null when the parameter is not supported by this extension.
+     */
+    protected Object findParameterValue(Class<?> type, ExtensionContext extensionContext) {
+        TestcontainersController controller = getController(extensionContext, TestcontainersController.class);
+        if (controller == null) {
+            // Not started yet, like the constructor parameters with the lifecycle PER_CLASS.
+            return null;
+        }
+        return valueWhenAssignable(type, AbstractIntegrationContainer.class, controller.getApplicationTestContainer());
+    }
+
+    /**
+     * Returns the value when the parameter is declared with the supported type (or a subtype that matches the value).
+     * Parameters of type {@code Object} and alike are not supported.
+     */
+    protected static Object valueWhenAssignable(Class<?> type, Class<?> supportedType, Object value) {
+        return supportedType.isAssignableFrom(type) && type.isInstance(value) ? value : null;
+    }
+
     protected abstract Class<?> getRequiredSuperClassForTest();
 }
@@ -15,6 +15,7 @@
  */
 package be.atbash.testing.integration.jupiter;
 
+import be.atbash.testing.integration.ConfigurationException;
 import be.atbash.testing.integration.container.exception.LocationNotFoundException;
 import be.atbash.testing.integration.container.exception.UnexpectedException;
 import be.atbash.testing.integration.container.image.CustomBuildFile;
@@ -47,6 +48,9 @@ public class ContainerAdapterMetaData {
     private String warFileLocation;
     private boolean debug;
     private boolean liveLogging;
+    private boolean sharedContainer;
+    private boolean redeploy;
+    private DeploymentMode deploymentMode;
 
     private Map<String, String> volumeMapping;
 
@@ -82,6 +86,18 @@ public class ContainerAdapterMetaData {
         return liveLogging;
     }
 
+    public boolean isSharedContainer() {
+        return sharedContainer;
+    }
+
+    public boolean isRedeploy() {
+        return redeploy;
+    }
+
+    public DeploymentMode getDeploymentMode() {
+        return deploymentMode;
+    }
+
     public Map<String, String> getVolumeMapping() {
         return volumeMapping;
     }
@@ -99,6 +115,9 @@ public class ContainerAdapterMetaData {
 
         result.debug = containerIntegrationTest.debug();
         result.liveLogging = containerIntegrationTest.liveLogging();
+        result.sharedContainer = containerIntegrationTest.sharedContainer();
+        result.redeploy = containerIntegrationTest.redeploy();
+        result.deploymentMode = containerIntegrationTest.deploymentMode();
 
         if (customBuildFileAnnotation != null) {
             result.customBuildDirectory = determineCustomBuildDirectory(customBuildFileAnnotation);
@@ -106,6 +125,7 @@ public class ContainerAdapterMetaData {
 
         result.supportedRuntime = determineRuntime(containerIntegrationTest.runtime());
         result.port = determinePort(result.supportedRuntime);
+        checkDeploymentMode(result);
         result.warFileLocation = findAppFile(getLocation(containerIntegrationTest)).getAbsolutePath();
         result.volumeMapping = defineVolumeMappings(containerIntegrationTest.volumeMapping());
 
@@ -120,6 +140,18 @@ public class ContainerAdapterMetaData {
         return result;
     }
 
+    private static void checkDeploymentMode(ContainerAdapterMetaData metaData) {
+        if (metaData.deploymentMode != DeploymentMode.COPY) {
+            return;
+        }
+        if (metaData.supportedRuntime == SupportedRuntime.OPEN_LIBERTY) {
+            throw new ConfigurationException("The deploymentMode COPY is not supported for OpenLiberty as the server.xml requires a custom image");
+        }
+        if (metaData.customBuildDirectory != null) {
+            throw new ConfigurationException("The deploymentMode COPY can't be combined with @CustomBuildFile as no image is built");
+        }
+    }
+
     private static String getLocation(ContainerIntegrationTest containerIntegrationTest) {
         String result = containerIntegrationTest.applicationLocation();
         if (!"target".equals(result) && !isAbsolutePath(result)) {
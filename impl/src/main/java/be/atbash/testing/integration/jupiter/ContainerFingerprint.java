@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.jupiter;
+
+import be.atbash.testing.integration.container.image.ContentDigest;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Determines a fingerprint of the container running the application. Test classes that have the same
+ * fingerprint can make use of the same running container. The application itself is not part of the fingerprint
+ * as it can be redeployed within the running container.
+ */
+public final class ContainerFingerprint {
+
+    private ContainerFingerprint() {
+    }
+
+    public static String of(ContainerAdapterMetaData metaData) {
+        ContentDigest digest = new ContentDigest()
+                .add(metaData.getSupportedRuntime().name())
+                .add(System.getProperty("be.atbash.test.runtime.version", ""))
+                .add(String.valueOf(metaData.isDebug()))
+                .add(String.valueOf(metaData.isLiveLogging()))
+                .add(metaData.getDeploymentMode().name());
+
+        String customBuildDirectory = metaData.getCustomBuildDirectory();
+        digest.add(String.valueOf(customBuildDirectory));
+        if (customBuildDirectory != null) {
+            digest.addDirectory(Path.of(customBuildDirectory));
+        }
+
+        addEntries(digest, metaData.getVolumeMapping());
+        return digest.toHex();
+    }
+
+    /**
+     * Determines the fingerprint of the application itself. When only the application is different, the shared
+     * container can be reused by redeploying the application.
+     */
+    public static String ofApplication(ContainerAdapterMetaData metaData) {
+        return new ContentDigest()
+                .addFile(Path.of(metaData.getWarFileLocation()))
+                .toHex();
+    }
+
+    private static void addEntries(ContentDigest digest, Map<String, String> entries) {
+        // Sorted so that the order of definition has no influence.
+        new TreeMap<>(entries).forEach((key, value) -> digest.add(key).add(value));
+    }
+}
@@ -64,4 +64,31 @@ public @interface ContainerIntegrationTest {
      * @return Location where application is searched.
      */
     String applicationLocation() default "target";
+
+    /**
+     * When activated, the container running the application is shared with the other test classes that have the
+     * same configuration (runtime, custom build directory, volume mapping, deployment mode, and the debug and
+     * liveLogging options). A different application file results in a redeploy within the running container.
+     * The container is only stopped at the end of the test run. Not supported for a Database integration test.
+     *
+     * @return true when the container can be shared between test classes.
+     */
+    boolean sharedContainer() default false;
+
+    /**
+     * When the container is shared, the application is redeployed within the running container before the tests of
+     * this class are executed, so that they start with a fresh application state. A different application is
+     * always redeployed. For Payara Micro, a new container is started as redeploy is not supported.
+     *
+     * @return true when the application must be redeployed in the shared container.
+     */
+    boolean redeploy() default false;
+
+    /**
+     * Defines how the application is deployed on the runtime. With {@code COPY}, no image is built and the WAR file
+     * is copied in the deployment directory of the runtime image. Only supported for Payara Micro, WildFly and Glassfish.
+     *
+     * @return The way the application is deployed.
+     */
+    DeploymentMode deploymentMode() default DeploymentMode.IMAGE;
 }
@@ -30,38 +30,50 @@ import java.util.List;
  */
 public class ContainerIntegrationTestExtension extends AbstractContainerIntegrationTestExtension {
 
-    private TestcontainersController controller;
-
     @Override
     public void beforeAll(ExtensionContext extensionContext) throws Exception {
 
+        RestClientCache.configureConnectionPool();
         Class<?> testClass = extensionContext.getRequiredTestClass();
         checkTestClass(testClass);
         ContainerIntegrationTest containerIntegrationTest = testClass.getAnnotation(ContainerIntegrationTest.class);
         CustomBuildFile customBuildFileAnnotation = testClass.getAnnotation(CustomBuildFile.class);
 
         List<Field> restClientFields = AnnotationSupport.findAnnotatedFields(testClass, RestClient.class);
-        metaData = ContainerAdapterMetaData.create(containerIntegrationTest, restClientFields, customBuildFileAnnotation);
+        ContainerAdapterMetaData metaData = ContainerAdapterMetaData.create(containerIntegrationTest, restClientFields, customBuildFileAnnotation);
         TestContext testContext = new TestContext();
         testContext.addInstance(metaData);
-        controller = new TestcontainersController(testClass);
+        TestcontainersController controller = new TestcontainersController(testClass);
+        storeState(extensionContext, metaData, controller);
+        if (metaData.isSharedContainer()) {
+            controller.useSharedContainerPool(SharedContainerPool.getInstance(extensionContext));
+        }
         controller.config(metaData, testContext);
         controller.start();
     }
 
     @Override
     public void postProcessTestInstance(Object testInstance, ExtensionContext context) throws Exception {
-        prepareClients(testInstance, controller.getApplicationTestContainer());
+        TestcontainersController controller = getController(context, TestcontainersController.class);
+        controller.injectInstances(testInstance);
+        prepareClients(testInstance, getMetaData(context), controller.getApplicationTestContainer(), false);
     }
 
     @Override
     public void afterEach(ExtensionContext context) throws Exception {
-        controller.resetWireMock();
+        TestcontainersController controller = getController(context, TestcontainersController.class);
+        if (isConcurrentTestMethod(context)) {
+            // Only the mappings and requests of this test method, the others are still running.
+            controller.resetWireMock(TestScope.current());
+            TestScope.end();
+        } else {
+            controller.resetWireMock();
+        }
     }
 
     @Override
     public void afterAll(ExtensionContext extensionContext) throws Exception {
-        controller.stop();
+        getController(extensionContext, TestcontainersController.class).stop();
     }
 
     @Override
@@ -71,6 +83,11 @@ public class ContainerIntegrationTestExtension extends AbstractContainerIntegrat
 
     @Override
     public void beforeEach(ExtensionContext context) throws Exception {
-        // No-op
+        if (isConcurrentTestMethod(context)) {
+            TestScope.begin();
+            // The test instance is created with the clients for sequential use, replace them by thread confined ones.
+            TestcontainersController controller = getController(context, TestcontainersController.class);
+            prepareClients(context.getRequiredTestInstance(), getMetaData(context), controller.getApplicationTestContainer(), true);
+        }
     }
 }
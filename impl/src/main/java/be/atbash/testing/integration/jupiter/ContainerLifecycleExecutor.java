@@ -0,0 +1,149 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.jupiter;
+
+import be.atbash.testing.integration.ConfigurationException;
+import be.atbash.testing.integration.container.exception.UnexpectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * The executor for the start and stop of the containers. These are blocking calls to the Docker daemon and
+ * are not executed on the common ForkJoinPool. The type is defined by the System property
+ * {@code be.atbash.test.lifecycle.executor}
+ * <ul>
+ *     <li>{@code auto} (default): virtual threads when running on Java 21 or later, otherwise platform threads.</li>
+ *     <li>{@code virtual}: virtual threads, only possible on Java 21 or later.</li>
+ *     <li>{@code platform}: bounded pool of platform threads, the size can be defined by the System property
+ *     {@code be.atbash.test.lifecycle.threads} (default the number of processors with a minimum of 4).</li>
+ * </ul>
+ */
+public final class ContainerLifecycleExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContainerLifecycleExecutor.class);
+
+    private static ExecutorService executor;
+
+    private ContainerLifecycleExecutor() {
+    }
+
+    public static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = createExecutor();
+        }
+        return executor;
+    }
+
+    private static ExecutorService createExecutor() {
+        String type = System.getProperty("be.atbash.test.lifecycle.executor", "auto").trim().toLowerCase(Locale.ENGLISH);
+        ExecutorService result;
+        switch (type) {
+            case "auto":
+                result = createVirtualThreadExecutor();
+                if (result == null) {
+                    result = createPlatformThreadExecutor();
+                }
+                break;
+            case "virtual":
+                result = createVirtualThreadExecutor();
+                if (result == null) {
+                    throw new ConfigurationException("Virtual threads for the container lifecycle require Java 21 or later");
+                }
+                break;
+            case "platform":
+                result = createPlatformThreadExecutor();
+                break;
+            default:
+                throw new ConfigurationException(String.format("Unknown value '%s' for the System property be.atbash.test.lifecycle.executor", type));
+        }
+        return result;
+    }
+
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            // Through reflection as the code is compiled for Java 11.
+            ExecutorService result = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            LOGGER.info("Using virtual threads for the start and stop of the containers");
+            return result;
+        } catch (NoSuchMethodException e) {
+            return null;  // Java version before 21.
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new UnexpectedException("Unable to create the executor with virtual threads", e);
+        }
+    }
+
+    private static ExecutorService createPlatformThreadExecutor() {
+        int defaultSize = Math.max(4, Runtime.getRuntime().availableProcessors());
+        int size = Integer.getInteger("be.atbash.test.lifecycle.threads", defaultSize);
+        return Executors.newFixedThreadPool(size, new LifecycleThreadFactory());
+    }
+
+    /**
+     * Perform the action for each element concurrently and wait until all are finished.
+     *
+     * @param elements The elements, like the containers.
+     * @param action   The action, like stopping the container.
+     * @param <T>      The type of the elements
+     */
+    public static <T> void forEach(Collection<T> elements, Consumer<T> action) {
+        CompletableFuture<?>[] futures = elements.stream()
+                .map(element -> CompletableFuture.runAsync(() -> action.accept(element), getExecutor()))
+                .toArray(CompletableFuture[]::new);
+        join(CompletableFuture.allOf(futures));
+    }
+
+    /**
+     * Wait for the future and throw the exception of the task when it failed.
+     *
+     * @param future The future to wait for.
+     */
+    public static void join(CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new UnexpectedException("Unexpected exception during the lifecycle of the containers", cause);
+        }
+    }
+
+    private static class LifecycleThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread result = new Thread(runnable, "atbash-container-lifecycle-" + counter.incrementAndGet());
+            result.setDaemon(true);
+            return result;
+        }
+    }
+}
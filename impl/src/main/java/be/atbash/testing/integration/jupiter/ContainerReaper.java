@@ -0,0 +1,157 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.jupiter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.GenericContainer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Stops the containers at the end of a test class. By default, the stop is performed synchronously. When the System
+ * property {@code be.atbash.test.container.reaper} is set to true, the containers are stopped in the background so that
+ * the next test class can start immediately. The outstanding stops are awaited at the end of the JVM, or before the
+ * same container is started again (a static container of a base class is used by multiple test classes).
+ */
+public final class ContainerReaper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContainerReaper.class);
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+
+    private static final Set<CompletableFuture<Void>> PENDING = ConcurrentHashMap.newKeySet();
+
+    // The stop in the background by container instance.
+    private static final Map<GenericContainer<?>, CompletableFuture<Void>> STOPPING = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private static final AtomicBoolean SHUTDOWN_HOOK_REGISTERED = new AtomicBoolean(false);
+
+    private ContainerReaper() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("be.atbash.test.container.reaper");
+    }
+
+    /**
+     * Stop the containers, in the background when the reaper is enabled.
+     *
+     * @param containers The containers to stop.
+     */
+    public static void stop(Collection<? extends GenericContainer<?>> containers) {
+        stop(containers, () -> {
+        });
+    }
+
+    /**
+     * Stop the containers, in the background when the reaper is enabled, and perform the cleanup action when all
+     * containers are stopped, like removing the network they were attached to.
+     *
+     * @param containers The containers to stop.
+     * @param afterStop  Executed when all containers are stopped, also when the stop of a container failed.
+     */
+    public static void stop(Collection<? extends GenericContainer<?>> containers, Runnable afterStop) {
+        if (!isEnabled()) {
+            ContainerLifecycleExecutor.forEach(containers, GenericContainer::stop);
+            afterStop.run();
+            return;
+        }
+        registerShutdownHook();
+        List<CompletableFuture<Void>> stops = new ArrayList<>();
+        for (GenericContainer<?> container : containers) {
+            CompletableFuture<Void> future = CompletableFuture.runAsync(container::stop, ContainerLifecycleExecutor.getExecutor());
+            stops.add(future);
+            STOPPING.put(container, future);
+            future.whenComplete((result, throwable) -> STOPPING.remove(container, future));
+            track(future, String.format("Stop of container %s in the background failed", container.getContainerName()));
+        }
+        CompletableFuture<Void> cleanup = CompletableFuture.allOf(stops.toArray(new CompletableFuture[0]))
+                .handle((result, throwable) -> null)
+                .thenRun(afterStop);
+        track(cleanup, "Cleanup after the stop of the containers failed");
+    }
+
+    private static void track(CompletableFuture<Void> future, String failureMessage) {
+        PENDING.add(future);
+        future.whenComplete((result, throwable) -> {
+            PENDING.remove(future);
+            if (throwable != null) {
+                LOGGER.warn(String.format("%s: %s", failureMessage, throwable.getMessage()));
+            }
+        });
+    }
+
+    private static void registerShutdownHook() {
+        if (SHUTDOWN_HOOK_REGISTERED.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(ContainerReaper::awaitPending, "atbash-container-reaper"));
+        }
+    }
+
+    /**
+     * Wait until the container is stopped when its stop is still running in the background, so that it can be started
+     * again by the next test class.
+     *
+     * @param container The container.
+     */
+    public static void awaitStop(GenericContainer<?> container) {
+        CompletableFuture<Void> stop = STOPPING.get(container);
+        if (stop == null) {
+            return;
+        }
+        LOGGER.info(String.format("Waiting for the stop of container %s", container.getContainerName()));
+        try {
+            stop.get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Already logged for the container itself.
+        } catch (TimeoutException e) {
+            LOGGER.warn(String.format("Container %s not stopped within %s seconds", container.getContainerName(), SHUTDOWN_TIMEOUT_SECONDS));
+        }
+    }
+
+    /**
+     * Wait until all containers that are stopped in the background are stopped.
+     */
+    public static void awaitPending() {
+        if (PENDING.isEmpty()) {
+            return;
+        }
+        LOGGER.info(String.format("Waiting for the stop of %s containers", PENDING.size()));
+        try {
+            CompletableFuture.allOf(PENDING.toArray(new CompletableFuture[0])).get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Already logged for the container itself.
+        } catch (TimeoutException e) {
+            LOGGER.warn(String.format("Not all containers are stopped within %s seconds", SHUTDOWN_TIMEOUT_SECONDS));
+        }
+    }
+}
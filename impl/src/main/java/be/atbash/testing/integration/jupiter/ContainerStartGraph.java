@@ -0,0 +1,181 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.jupiter;
+
+import be.atbash.testing.integration.container.exception.UnexpectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.GenericContainer;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Starts the containers according to their dependencies. Nodes without (pending) dependencies are executed
+ * concurrently on the {@link ContainerLifecycleExecutor} and a node is started as soon as all its dependencies are finished.
+ * Pulling or building the image of a container is a separate node without dependencies so that it doesn't need to
+ * wait on the start of other containers.
+ */
+public class ContainerStartGraph {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContainerStartGraph.class);
+
+    // Insertion order is kept for the report. Keys are compared by identity.
+    private final Map<NodeKey, Node> nodes = new LinkedHashMap<>();
+
+    /**
+     * Add a node to the graph.
+     *
+     * @param key          Identification of the node, used to define the dependencies. Compared by identity.
+     * @param name         Name of the node within the log.
+     * @param task         The task that needs to be executed.
+     * @param dependencies The keys of the nodes that must be finished before this node is executed.
+     * @return This instance to allow chaining.
+     */
+    public ContainerStartGraph addNode(Object key, String name, Runnable task, Collection<?> dependencies) {
+        List<NodeKey> dependencyKeys = dependencies.stream()
+                .map(NodeKey::new)
+                .collect(Collectors.toList());
+        nodes.put(new NodeKey(key), new Node(name, task, dependencyKeys));
+        return this;
+    }
+
+    /**
+     * Add the start of the container to the graph, together with a node that retrieves the image of the container.
+     *
+     * @param container    The container.
+     * @param name         Name of the container within the log.
+     * @param dependencies The keys of the nodes that must be finished before the container is started.
+     * @return This instance to allow chaining.
+     */
+    public ContainerStartGraph addContainer(GenericContainer<?> container, String name, Collection<?> dependencies) {
+        return addContainer(container, name, dependencies, () -> {
+        });
+    }
+
+    /**
+     * Add the start of the container to the graph, together with a node that retrieves the image of the container.
+     *
+     * @param container    The container.
+     * @param name         Name of the container within the log.
+     * @param dependencies The keys of the nodes that must be finished before the container is started.
+     * @param afterImage   Executed when the image is available, but before the container is started.
+     * @return This instance to allow chaining.
+     */
+    public ContainerStartGraph addContainer(GenericContainer<?> container, String name, Collection<?> dependencies, Runnable afterImage) {
+        Object imageKey = new Object();
+        addNode(imageKey, name + " image", () -> {
+            container.getDockerImageName();
+            afterImage.run();
+        }, Collections.emptyList());
+
+        List<Object> containerDependencies = new ArrayList<>(dependencies);
+        containerDependencies.add(imageKey);
+        return addNode(container, name, container::start, containerDependencies);
+    }
+
+    public boolean contains(Object key) {
+        return nodes.containsKey(new NodeKey(key));
+    }
+
+    /**
+     * Execute all nodes and wait until they are finished. When a node fails, the nodes that depend on it are not
+     * executed and the exception of the node is thrown.
+     */
+    public void execute() {
+        long start = System.currentTimeMillis();
+        Map<NodeKey, CompletableFuture<Void>> futures = new HashMap<>();
+        nodes.keySet().forEach(key -> scheduleNode(key, futures, start, new HashSet<>()));
+
+        try {
+            ContainerLifecycleExecutor.join(CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])));
+        } finally {
+            reportTimings();
+        }
+    }
+
+    private CompletableFuture<Void> scheduleNode(NodeKey key, Map<NodeKey, CompletableFuture<Void>> futures, long graphStart, Set<NodeKey> path) {
+        CompletableFuture<Void> result = futures.get(key);
+        if (result != null) {
+            return result;
+        }
+        if (!path.add(key)) {
+            throw new UnexpectedException(String.format("Circular dependency detected for container '%s'", nodes.get(key).name));
+        }
+        Node node = nodes.get(key);
+        CompletableFuture<?>[] dependencies = node.dependencies.stream()
+                .filter(nodes::containsKey)  // Dependencies outside the graph are handled by the container itself.
+                .map(dependency -> scheduleNode(dependency, futures, graphStart, path))
+                .toArray(CompletableFuture[]::new);
+
+        result = CompletableFuture.allOf(dependencies)
+                .thenRunAsync(() -> node.execute(graphStart), ContainerLifecycleExecutor.getExecutor());
+        futures.put(key, result);
+        path.remove(key);
+        return result;
+    }
+
+    private void reportTimings() {
+        String report = nodes.values().stream()
+                .filter(node -> node.end > 0)
+                .map(node -> String.format("  %s : %s ms (started after %s ms)", node.name, node.end - node.start, node.start))
+                .collect(Collectors.joining("\n"));
+        LOGGER.info("Container start timings\n" + report);
+    }
+
+    private static class Node {
+        private final String name;
+        private final Runnable task;
+        private final List<NodeKey> dependencies;
+        // Relative to the start of the graph.
+        private volatile long start;
+        private volatile long end;
+
+        Node(String name, Runnable task, List<NodeKey> dependencies) {
+            this.name = name;
+            this.task = task;
+            this.dependencies = dependencies;
+        }
+
+        void execute(long graphStart) {
+            start = System.currentTimeMillis() - graphStart;
+            try {
+                task.run();
+            } finally {
+                end = System.currentTimeMillis() - graphStart;
+            }
+        }
+    }
+
+    private static class NodeKey {
+        private final Object key;
+
+        NodeKey(Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof NodeKey && ((NodeKey) o).key == key;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(key);
+        }
+    }
+}
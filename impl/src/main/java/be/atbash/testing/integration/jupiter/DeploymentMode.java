@@ -0,0 +1,32 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.jupiter;
+
+/**
+ * Defines how the application is deployed on the runtime.
+ */
+public enum DeploymentMode {
+
+    /**
+     * A custom image is built that contains the application.
+     */
+    IMAGE,
+    /**
+     * No image is built, the application is copied into the container of the runtime image before it is started.
+     * Not supported for OpenLiberty, custom build files and the Database integration test.
+     */
+    COPY
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.jupiter;
+
+import be.atbash.testing.integration.ConfigurationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Docker network dedicated to the containers of a test class (or of a shared container), instead of the
+ * {@code Network.SHARED} of Testcontainers. Network aliases like {@code db} or the host name of WireMock only need
+ * to be unique within the network, so that the containers of different test classes can run at the same time.
+ */
+public final class IsolatedNetwork {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IsolatedNetwork.class);
+
+    private IsolatedNetwork() {
+    }
+
+    /**
+     * Create a new network. The network itself is only created within Docker when the first container is attached to it.
+     */
+    public static Network create() {
+        return Network.newNetwork();
+    }
+
+    /**
+     * Verifies that each network alias is used by only one container.
+     *
+     * @param containers The containers that will be attached to the network, with their name for the message.
+     * @throws ConfigurationException When 2 containers use the same alias.
+     */
+    public static void checkAliases(Map<GenericContainer<?>, String> containers) {
+        Map<String, String> aliases = new HashMap<>();
+        containers.forEach((container, name) -> {
+            for (String alias : container.getNetworkAliases()) {
+                String other = aliases.putIfAbsent(alias, name);
+                if (other != null) {
+                    throw new ConfigurationException(String.format("The network alias '%s' is used by the containers '%s' and '%s'", alias, other, name));
+                }
+            }
+        });
+    }
+
+    /**
+     * Remove the network. A failure is only logged as it doesn't influence the outcome of the tests and the
+     * network is removed anyway by Testcontainers at the end of the test run.
+     *
+     * @param network The network to remove.
+     */
+    public static void close(Network network) {
+        try {
+            network.close();
+        } catch (RuntimeException e) {
+            LOGGER.warn(String.format("Removal of the network %s failed: %s", network.getId(), e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.jupiter;
+
+import com.fasterxml.jackson.jaxrs.json.JacksonJsonProvider;
+import org.eclipse.microprofile.rest.client.RestClientBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the MicroProfile Rest Clients for the test classes, for each interface and base URI, as long as the
+ * container running the application is running. When the test methods are executed concurrently, each thread uses
+ * its own client (see {@link ThreadConfinedRestClient}) and the clients send the {@link TestScope}. The clients are
+ * closed when the container stops.
+ * <p>
+ * The HTTP connections are kept alive and reused between the test methods. The maximum number of idle connections
+ * for each host is defined by the System property {@code be.atbash.test.rest.pool.size} (number of processors with a
+ * minimum of 5) and the timeouts by {@code be.atbash.test.rest.connect.timeout} (default 30000 ms) and
+ * {@code be.atbash.test.rest.read.timeout} (default 60000 ms).
+ */
+public final class RestClientCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RestClientCache.class);
+
+    private static final Map<ClientKey, Object> CLIENTS = new ConcurrentHashMap<>();
+
+    private RestClientCache() {
+    }
+
+    /**
+     * Define the size of the pool of the keep-alive connections. The JVM reads the value only once, so this must
+     * happen before the first HTTP connection is made by the test run.
+     */
+    public static void configureConnectionPool() {
+        if (System.getProperty("http.maxConnections") == null) {
+            int defaultSize = Math.max(5, Runtime.getRuntime().availableProcessors());
+            int size = Integer.getInteger("be.atbash.test.rest.pool.size", defaultSize);
+            System.setProperty("http.maxConnections", String.valueOf(size));
+        }
+    }
+
+    /**
+     * Returns the client for the interface and base URI of the container, created when not available yet.
+     *
+     * @param containerId         The id of the container running the application.
+     * @param restClientInterface The interface of the MicroProfile Rest Client.
+     * @param baseURI             The base URI of the application.
+     * @param concurrent          Is the client used by test methods that run concurrently.
+     * @return The client.
+     */
+    public static Object getClient(String containerId, Class<?> restClientInterface, URI baseURI, boolean concurrent) {
+        return CLIENTS.computeIfAbsent(new ClientKey(containerId, restClientInterface, baseURI, concurrent), key -> {
+            if (concurrent) {
+                return ThreadConfinedRestClient.create(restClientInterface, () -> buildClient(restClientInterface, baseURI));
+            }
+            return buildClient(restClientInterface, baseURI);
+        });
+    }
+
+    private static Object buildClient(Class<?> restClientInterface, URI baseURI) {
+        LOGGER.debug(String.format("Creating Rest Client %s for %s", restClientInterface.getName(), baseURI));
+        return RestClientBuilder.newBuilder().  // From MicroProfile Rest Client
+                register(JacksonJsonProvider.class).  // Support JSON-B
+                register(TestScopeHeaderFilter.class).
+                connectTimeout(Long.getLong("be.atbash.test.rest.connect.timeout", 30_000L), TimeUnit.MILLISECONDS).
+                readTimeout(Long.getLong("be.atbash.test.rest.read.timeout", 60_000L), TimeUnit.MILLISECONDS).
+                baseUri(baseURI).
+                build(restClientInterface);  // Create proxy based on the interface and information of the endpoints.
+    }
+
+    /**
+     * Remove the clients of the container, called when the container is stopped.
+     *
+     * @param containerId The id of the container running the application.
+     */
+    public static void evict(String containerId) {
+        CLIENTS.entrySet().removeIf(entry -> {
+            boolean result = entry.getKey().containerId.equals(containerId);
+            if (result) {
+                ThreadConfinedRestClient handler = ThreadConfinedRestClient.getHandler(entry.getValue());
+                if (handler != null) {
+                    handler.close();
+                } else {
+                    closeClient(entry.getValue());
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Close the client so that the HTTP connections are released.
+     */
+    static void closeClient(Object client) {
+        if (client instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) client).close();
+            } catch (Exception e) {
+                LOGGER.warn(String.format("Closing the Rest Client failed: %s", e.getMessage()));
+            }
+        }
+    }
+
+    private static final class ClientKey {
+        private final String containerId;
+        private final Class<?> restClientInterface;
+        private final URI baseURI;
+        private final boolean concurrent;
+
+        ClientKey(String containerId, Class<?> restClientInterface, URI baseURI, boolean concurrent) {
+            this.containerId = containerId;
+            this.restClientInterface = restClientInterface;
+            this.baseURI = baseURI;
+            this.concurrent = concurrent;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ClientKey)) {
+                return false;
+            }
+            ClientKey clientKey = (ClientKey) o;
+            return concurrent == clientKey.concurrent && containerId.equals(clientKey.containerId)
+                    && restClientInterface.equals(clientKey.restClientInterface) && baseURI.equals(clientKey.baseURI);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(containerId, restClientInterface, baseURI, concurrent);
+        }
+    }
+}
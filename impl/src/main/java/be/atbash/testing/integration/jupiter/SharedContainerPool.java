@@ -0,0 +1,149 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.jupiter;
+
+import be.atbash.testing.integration.container.AbstractIntegrationContainer;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the containers running the application that are shared between test classes. The pool is kept within the
+ * root {@code ExtensionContext.Store} so that JUnit closes it, and thus stops all containers, at the end of the test run.
+ * A container is used by only one test class at a time, test classes running concurrently get another container
+ * with the same fingerprint. Each container has its own network for the other containers of the test class.
+ */
+public class SharedContainerPool implements ExtensionContext.Store.CloseableResource {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedContainerPool.class);
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SharedContainerPool.class);
+
+    // All containers by fingerprint, guarded by this.
+    private final Map<String, List<SharedContainer>> containers = new HashMap<>();
+
+    public static SharedContainerPool getInstance(ExtensionContext extensionContext) {
+        return extensionContext.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(SharedContainerPool.class);
+    }
+
+    /**
+     * Acquires a shared container for the fingerprint, for the exclusive use of the test class until it is released.
+     * A free container running the same application is preferred. Otherwise, the application is redeployed within
+     * a free container or, when the runtime doesn't support a redeploy, the container is replaced by a new one.
+     * When all containers for the fingerprint are in use by other test classes, a new container is created.
+     *
+     * @param fingerprint       The fingerprint of the container, see {@link ContainerFingerprint}.
+     * @param metaData          The metadata of the test class.
+     * @param containerSupplier Creates the container when there is no free container available for the fingerprint.
+     * @return The shared container, to be released with {@link #release(SharedContainer)}.
+     */
+    public SharedContainer acquire(String fingerprint, ContainerAdapterMetaData metaData, Supplier<AbstractIntegrationContainer<?>> containerSupplier) {
+        String applicationFingerprint = ContainerFingerprint.ofApplication(metaData);
+        SharedContainer shared;
+        synchronized (this) {
+            List<SharedContainer> candidates = containers.computeIfAbsent(fingerprint, key -> new ArrayList<>());
+            shared = candidates.stream()
+                    .filter(candidate -> !candidate.inUse && candidate.applicationFingerprint.equals(applicationFingerprint))
+                    .findFirst()
+                    .orElseGet(() -> candidates.stream().filter(candidate -> !candidate.inUse).findFirst().orElse(null));
+            if (shared == null) {
+                shared = new SharedContainer(containerSupplier.get(), applicationFingerprint, IsolatedNetwork.create());
+                candidates.add(shared);
+                shared.inUse = true;
+                return shared;
+            }
+            shared.inUse = true;
+        }
+        // The container is reserved for this test class, the redeploy doesn't hinder other test classes.
+        AbstractIntegrationContainer<?> container = shared.container;
+        if (shared.applicationFingerprint.equals(applicationFingerprint) && !metaData.isRedeploy()) {
+            LOGGER.info(String.format("Reusing the running container %s", container.getContainerName()));
+        } else if (container.isRunning() && container.isRedeploySupported()) {
+            LOGGER.info(String.format("Redeploying the application within the running container %s", container.getContainerName()));
+            container.redeploy(metaData.getWarFileLocation());
+            shared.applicationFingerprint = applicationFingerprint;
+        } else {
+            LOGGER.info(String.format("Redeploy not supported, replacing the running container %s", container.getContainerName()));
+            container.stop();
+            shared.container = containerSupplier.get();
+            shared.applicationFingerprint = applicationFingerprint;
+        }
+        return shared;
+    }
+
+    /**
+     * The test class no longer uses the container, other test classes can acquire it.
+     *
+     * @param shared The container returned by {@link #acquire(String, ContainerAdapterMetaData, Supplier)}.
+     */
+    public synchronized void release(SharedContainer shared) {
+        shared.inUse = false;
+    }
+
+    public synchronized boolean isShared(GenericContainer<?> container) {
+        return containers.values().stream()
+                .flatMap(List::stream)
+                .anyMatch(shared -> shared.container == container);
+    }
+
+    @Override
+    public void close() {
+        long start = System.currentTimeMillis();
+        List<SharedContainer> all;
+        synchronized (this) {
+            all = containers.values().stream()
+                    .flatMap(List::stream)
+                    .collect(Collectors.toList());
+            containers.clear();
+        }
+        ContainerLifecycleExecutor.forEach(all, shared -> shared.container.stop());
+        all.forEach(shared -> IsolatedNetwork.close(shared.network));
+        LOGGER.info("All shared containers stopped in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * A container within the pool, together with the network for the other containers of the test class using it.
+     */
+    public static final class SharedContainer {
+        private volatile AbstractIntegrationContainer<?> container;
+        private volatile String applicationFingerprint;
+        private final Network network;
+        private boolean inUse;
+
+        SharedContainer(AbstractIntegrationContainer<?> container, String applicationFingerprint, Network network) {
+            this.container = container;
+            this.applicationFingerprint = applicationFingerprint;
+            this.network = network;
+        }
+
+        public AbstractIntegrationContainer<?> getContainer() {
+            return container;
+        }
+
+        public Network getNetwork() {
+            return network;
+        }
+    }
+}
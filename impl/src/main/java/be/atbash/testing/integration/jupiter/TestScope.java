@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.jupiter;
+
+import java.util.UUID;
+
+/**
+ * Identifies the test method that is executed by the current thread when the test methods of a class run
+ * concurrently. The identification is sent as a header by the MicroProfile Rest Clients of the test and is used by
+ * the WireMock containers to keep the responses and requests of each test method apart.
+ */
+public final class TestScope {
+
+    /**
+     * The header that holds the identification of the test method.
+     */
+    public static final String HEADER_NAME = "X-Atbash-Test-Scope";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TestScope() {
+    }
+
+    /**
+     * Start a new scope for the test method executed by the current thread.
+     *
+     * @return The identification of the scope.
+     */
+    public static String begin() {
+        String result = UUID.randomUUID().toString();
+        CURRENT.set(result);
+        return result;
+    }
+
+    /**
+     * Returns the identification of the scope of the current thread or null when the test methods don't run concurrently.
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+}
@@ -33,9 +33,8 @@ import org.testcontainers.junit.jupiter.Container;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Control and manipulate all testContainers.
@@ -46,11 +45,21 @@ public class TestcontainersController {
 
     protected final Set<GenericContainer<?>> containers = new HashSet<>();
     protected final Set<WireMockContainer> wireMockContainers = new HashSet<>();
+    // Name of the containers within the log, by identity.
+    private final Map<GenericContainer<?>, String> containerNames = new IdentityHashMap<>();
     private final Class<?> testClass;
     private Field runtimeContainerField;
 
     private AbstractIntegrationContainer<?> applicationTestContainer;
 
+    private SharedContainerPool sharedContainerPool;
+    private SharedContainerPool.SharedContainer sharedContainer;
+
+    private TestContext testContext;
+
+    // Network dedicated to the containers of this test class, or the one of the shared container.
+    private Network network;
+
     public TestcontainersController(Class<?> testClass) {
         this.testClass = testClass;
         discoverContainers(testClass);
@@ -63,9 +72,6 @@ public class TestcontainersController {
             if (!Modifier.isPublic(containerField.getModifiers())) {
                 throw new ExtensionConfigurationException("@Container annotated fields must be public visibility");
             }
-            if (!Modifier.isStatic(containerField.getModifiers())) {
-                throw new ExtensionConfigurationException("@Container annotated fields must be static");
-            }
             boolean isStartable = GenericContainer.class.isAssignableFrom(containerField.getType());
             if (!isStartable) {
                 throw new ExtensionConfigurationException("@Container annotated fields must be a subclass of " + GenericContainer.class);
@@ -81,15 +87,21 @@ public class TestcontainersController {
 
                 if (generic) {
                     // Some other container the developer uses in the test.
+                    if (!Modifier.isStatic(containerField.getModifiers())) {
+                        throw new ExtensionConfigurationException("@Container annotated fields must be static");
+                    }
                     containerField.setAccessible(true);  // Why is this required? it is a public static field
                     GenericContainer<?> startableContainer = (GenericContainer<?>) containerField.get(null);
+                    // A static container of a base class can still be stopping in the background for the previous test class.
+                    ContainerReaper.awaitStop(startableContainer);
                     if (!(startableContainer instanceof WireMockContainer)) {
-                        startableContainer.setNetwork(Network.SHARED);
+                        // Attached to the network of the test class during config()
                         startableContainer.withNetworkAliases(containerField.getName());  // Use variable name as host alias
                     } else {
                         wireMockContainers.add((WireMockContainer) startableContainer);
                     }
                     containers.add(startableContainer);
+                    containerNames.put(startableContainer, containerField.getName());
 
                 }
             } catch (IllegalArgumentException | IllegalAccessException e) {
@@ -99,34 +111,102 @@ public class TestcontainersController {
 
     }
 
+    /**
+     * Use the pool to retrieve the container running the application, so that it can be shared with other test classes.
+     *
+     * @param sharedContainerPool The pool with the shared containers.
+     */
+    public void useSharedContainerPool(SharedContainerPool sharedContainerPool) {
+        this.sharedContainerPool = sharedContainerPool;
+    }
+
     public void config(ContainerAdapterMetaData metaData, TestContext testContext) {
+        this.testContext = testContext;
         // Configure the container.
         // ContainerAdapterMetaData determine the container which will be used.
-        applicationTestContainer = new ContainerFactory().createContainer(metaData, testContext);
+        if (sharedContainerPool == null) {
+            network = IsolatedNetwork.create();
+            applicationTestContainer = createApplicationTestContainer(metaData, testContext);
+        } else {
+            String fingerprint = ContainerFingerprint.of(metaData);
+            sharedContainer = sharedContainerPool.acquire(fingerprint, metaData, () -> createApplicationTestContainer(metaData, testContext));
+            // The other containers of the test class must be reachable from the shared container.
+            network = sharedContainer.getNetwork();
+            applicationTestContainer = sharedContainer.getContainer();
+        }
 
-        defineVolumeMapping(metaData.getVolumeMapping());
+        containers.add(applicationTestContainer);
+        containerNames.put(applicationTestContainer, "application");
 
+        attachToNetwork();
+    }
 
-        AdditionalEnvParameters envParameters = testContext.getInstance(AdditionalEnvParameters.class);
-        if(envParameters != null) {
-            for (Map.Entry<String, String> entry : envParameters.getParameters().entrySet()) {
-                applicationTestContainer.withEnv(entry.getKey(), entry.getValue());
-            }
+    /**
+     * Attach all containers of the test class to the network, after checking that the network aliases are unique.
+     */
+    protected void attachToNetwork() {
+        Map<GenericContainer<?>, String> networkContainers = defineNetworkContainers();
+        IsolatedNetwork.checkAliases(networkContainers);
+        networkContainers.keySet().stream()
+                .filter(container -> !container.isRunning())  // A running shared container is already attached.
+                .forEach(container -> container.setNetwork(network));
+    }
+
+    /**
+     * Defines the containers that are attached to the network of the test class.
+     *
+     * @return The containers with their name.
+     */
+    protected Map<GenericContainer<?>, String> defineNetworkContainers() {
+        Map<GenericContainer<?>, String> result = new IdentityHashMap<>();
+        for (GenericContainer<?> container : containers) {
+            result.put(container, containerNames.getOrDefault(container, container.getClass().getSimpleName()));
         }
+        return result;
+    }
 
-        try {
-            runtimeContainerField.set(null, applicationTestContainer);
-            containers.add(applicationTestContainer);
+    public Network getNetwork() {
+        return network;
+    }
 
+    /**
+     * Set the container running the application in the field of the test instance. The field is not static
+     * so that each test class, even when they are executed in parallel, sees its own container.
+     *
+     * @param testInstance The instance of the test class.
+     */
+    public void injectInstances(Object testInstance) {
+        try {
+            runtimeContainerField.set(testInstance, applicationTestContainer);
         } catch (IllegalAccessException e) {
             Assertions.fail(e.getMessage());
         }
+    }
+
+    private AbstractIntegrationContainer<?> createApplicationTestContainer(ContainerAdapterMetaData metaData, TestContext testContext) {
+        AbstractIntegrationContainer<?> result = new ContainerFactory().createContainer(metaData, testContext);
+
+        defineVolumeMapping(result, metaData.getVolumeMapping());
+        return result;
+    }
 
+    private void defineAdditionalEnvParameters(AbstractIntegrationContainer<?> container) {
+        if (container.isRunning()) {
+            // Shared container that is already running.
+            return;
+        }
+        // Adapters can add parameters during the assembly of the image.
+        AdditionalEnvParameters envParameters = testContext.getInstance(AdditionalEnvParameters.class);
+        if (envParameters != null) {
+            for (Map.Entry<String, String> entry : envParameters.getParameters().entrySet()) {
+                container.withEnv(entry.getKey(), entry.getValue());
+            }
+        }
     }
 
-    private void defineVolumeMapping(Map<String, String> volumeMapping) {
+    private void defineVolumeMapping(AbstractIntegrationContainer<?> container, Map<String, String> volumeMapping) {
         volumeMapping
-                .forEach((key, value) -> applicationTestContainer.addFileSystemBind(key, value, BindMode.READ_WRITE));
+                .forEach((key, value) -> container.addFileSystemBind(key, value, BindMode.READ_WRITE));
     }
 
     public AbstractIntegrationContainer<?> getApplicationTestContainer() {
@@ -143,11 +223,41 @@ public class TestcontainersController {
     }
 
     protected void startContainers() {
-        containers.parallelStream().forEach(GenericContainer::start);
+        ContainerStartGraph graph = new ContainerStartGraph();
+        defineStartGraph(graph);
+        graph.execute();
+    }
+
+    protected void defineStartGraph(ContainerStartGraph graph) {
+        for (GenericContainer<?> container : containers) {
+            String name = containerNames.getOrDefault(container, container.getClass().getSimpleName());
+            if (container == applicationTestContainer) {
+                // The image is assembled and built when the graph is executed, concurrently with the other containers.
+                graph.addContainer(container, name, defineDependencies(container), () -> defineAdditionalEnvParameters(applicationTestContainer));
+            } else {
+                graph.addContainer(container, name, defineDependencies(container));
+            }
+        }
+    }
+
+    /**
+     * Defines the containers (or other nodes of the {@link ContainerStartGraph}) that must be started before the container.
+     *
+     * @param container The container
+     * @return The dependencies of the container.
+     */
+    protected List<Object> defineDependencies(GenericContainer<?> container) {
+        // Dependencies declared by the developer with GenericContainer.dependsOn()
+        List<Object> result = new ArrayList<>(container.getDependencies());
+        if (container == applicationTestContainer) {
+            // The application can call the remote services during startup.
+            result.addAll(wireMockContainers);
+        }
+        return result;
     }
 
     protected void showContainerNames(String... additionalContainerNames) {
-        LOGGER.info("Starting containers in parallel for " + testClass);
+        LOGGER.info("Starting containers for " + testClass);
         for (String name : additionalContainerNames) {
             LOGGER.info("  " + name);
         }
@@ -162,15 +272,42 @@ public class TestcontainersController {
         long start = System.currentTimeMillis();
         stopContainers();
         LOGGER.info("All containers stopped in " + (System.currentTimeMillis() - start) + "ms");
-        runtimeContainerField.set(null, null);
-
     }
 
     protected void stopContainers() throws IllegalAccessException {
-        containers.parallelStream().forEach(GenericContainer::stop);
+        if (sharedContainerPool == null) {
+            // The network can only be removed when no container is attached anymore.
+            ContainerReaper.stop(defineContainersToStop(), () -> IsolatedNetwork.close(network));
+        } else if (sharedContainer != null) {
+            // The network of a shared container is removed when the pool is closed. Another test class can only use the
+            // container when the other containers of this test class are no longer attached to its network.
+            ContainerReaper.stop(defineContainersToStop(), () -> sharedContainerPool.release(sharedContainer));
+        } else {
+            ContainerReaper.stop(defineContainersToStop());
+        }
+    }
+
+    protected List<GenericContainer<?>> defineContainersToStop() {
+        // A shared container is stopped when the pool is closed at the end of the test run.
+        return containers.stream()
+                .filter(this::isNotShared)
+                .collect(Collectors.toList());
+    }
+
+    private boolean isNotShared(GenericContainer<?> container) {
+        return sharedContainerPool == null || !sharedContainerPool.isShared(container);
     }
 
     public void resetWireMock() {
         wireMockContainers.forEach(WireMockContainer::resetConfigAndDeleteRequests);
     }
+
+    /**
+     * Removes the mappings and requests of a test method from the WireMock containers when the test methods run concurrently.
+     *
+     * @param scope The scope of the test method, see {@link TestScope}.
+     */
+    public void resetWireMock(String scope) {
+        wireMockContainers.forEach(container -> container.resetScope(scope));
+    }
 }
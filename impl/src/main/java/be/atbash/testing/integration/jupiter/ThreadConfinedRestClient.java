@@ -0,0 +1,73 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.jupiter;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Proxy for a MicroProfile Rest Client that can be used by test methods running concurrently. Each thread uses
+ * its own client, created on first use, so that the state of the client is never shared between threads.
+ * The clients are kept until {@link #close()} is called, and not within the threads themselves.
+ */
+final class ThreadConfinedRestClient implements InvocationHandler {
+
+    private final Supplier<Object> clientSupplier;
+    private final Map<Thread, Object> clients = new ConcurrentHashMap<>();
+
+    private ThreadConfinedRestClient(Supplier<Object> clientSupplier) {
+        this.clientSupplier = clientSupplier;
+    }
+
+    static Object create(Class<?> restClientInterface, Supplier<Object> clientSupplier) {
+        return Proxy.newProxyInstance(restClientInterface.getClassLoader(), new Class<?>[]{restClientInterface}
+                , new ThreadConfinedRestClient(clientSupplier));
+    }
+
+    /**
+     * Returns the handler when the client is created by {@link #create(Class, Supplier)}, otherwise null.
+     */
+    static ThreadConfinedRestClient getHandler(Object client) {
+        if (Proxy.isProxyClass(client.getClass()) && Proxy.getInvocationHandler(client) instanceof ThreadConfinedRestClient) {
+            return (ThreadConfinedRestClient) Proxy.getInvocationHandler(client);
+        }
+        return null;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Object client = clients.computeIfAbsent(Thread.currentThread(), thread -> clientSupplier.get());
+        try {
+            return method.invoke(client, args);
+        } catch (InvocationTargetException e) {
+            // The exception of the client itself, like a WebApplicationException.
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Close the clients created for all threads.
+     */
+    void close() {
+        clients.values().forEach(RestClientCache::closeClient);
+        clients.clear();
+    }
+}
@@ -25,8 +25,12 @@ import org.testcontainers.junit.jupiter.Container;
  */
 public abstract class AbstractContainerIntegrationTest {
 
+    /**
+     * The container running the application. The field is set for each test instance (and not static) so that
+     * test classes can be executed in parallel.
+     */
     @Container
-    public static AbstractIntegrationContainer<?> testContainer;
+    public AbstractIntegrationContainer<?> testContainer;
 
     @RegisterExtension
     private final ShowLogWhenFailedExceptionHandler showLogExceptionHandler = new ShowLogWhenFailedExceptionHandler();
@@ -39,7 +39,7 @@ public class ShowLogWhenFailedExceptionHandler implements TestExecutionException
     public void handleTestExecutionException(ExtensionContext extensionContext, Throwable throwable) throws Throwable {
         if (throwable instanceof AssertionError || throwable instanceof NotFoundException || isInternalServerError(throwable)) {
 
-            AbstractIntegrationContainer<?> mainContainer = getMainContainer(extensionContext.getRequiredTestClass());
+            AbstractIntegrationContainer<?> mainContainer = getMainContainer(extensionContext.getRequiredTestClass(), extensionContext.getRequiredTestInstance());
 
             if (mainContainer != null) {
                 String logs = mainContainer.getLogs();
@@ -60,13 +60,13 @@ public class ShowLogWhenFailedExceptionHandler implements TestExecutionException
         return result;
     }
 
-    private AbstractIntegrationContainer<?> getMainContainer(Class<?> testClass) {
+    private AbstractIntegrationContainer<?> getMainContainer(Class<?> testClass, Object testInstance) {
         AbstractIntegrationContainer<?> result = null;
         for (Field containerField : AnnotationSupport.findAnnotatedFields(testClass, Container.class)) {
             try {
 
                 if (AbstractIntegrationContainer.class.isAssignableFrom(containerField.getType())) {
-                    result = (AbstractIntegrationContainer<?>) containerField.get(null);
+                    result = (AbstractIntegrationContainer<?>) containerField.get(testInstance);
 
                 }
 
@@ -21,6 +21,7 @@ import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 
 @Path("__admin")
 public interface WireMockAdminService {
@@ -29,6 +30,10 @@ public interface WireMockAdminService {
     @Path("/mappings")
     String submitMapping(String body);
 
+    @DELETE
+    @Path("/mappings/{id}")
+    String deleteMapping(@PathParam("id") String id);
+
     @POST
     @Path("/mappings/reset")
     String resetMapping();
@@ -37,6 +42,10 @@ public interface WireMockAdminService {
     @Path("/requests")
     String deleteAllRequests();
 
+    @POST
+    @Path("/requests/remove")
+    String removeRequests(String criteria);
+
     @GET
     @Path("/requests")
     Requests getRequestInfo();
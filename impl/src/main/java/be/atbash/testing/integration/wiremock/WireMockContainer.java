@@ -15,23 +15,26 @@
  */
 package be.atbash.testing.integration.wiremock;
 
+import be.atbash.testing.integration.jupiter.TestScope;
 import be.atbash.testing.integration.wiremock.model.mappings.MappingBuilder;
 import be.atbash.testing.integration.wiremock.model.requests.RequestInfo;
 import be.atbash.testing.integration.wiremock.model.requests.server.Request;
 import be.atbash.testing.integration.wiremock.model.requests.server.Requests;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.jaxrs.json.JacksonJsonProvider;
 import org.eclipse.microprofile.rest.client.RestClientBuilder;
 import org.junit.Assert;
 import org.testcontainers.containers.GenericContainer;
-import org.testcontainers.containers.Network;
 import org.testcontainers.utility.DockerImageName;
 
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class WireMockContainer extends GenericContainer<WireMockContainer> {
 
@@ -39,19 +42,39 @@ public class WireMockContainer extends GenericContainer<WireMockContainer> {
 
     private final ObjectMapper mapper = new ObjectMapper();
 
+    // The ids of the mappings defined by each test method when they run concurrently, by TestScope.
+    private final Map<String, List<String>> scopedMappings = new ConcurrentHashMap<>();
+
     private WireMockContainer(String hostName) {
         super(DockerImageName.parse("wiremock/wiremock:2.35.0"));
-        setNetwork(Network.SHARED);
+        // Attached to the network of the test class by the TestcontainersController.
         setNetworkAliases(List.of(hostName));
         addExposedPorts(8080);
     }
 
+    /**
+     * Define the response for a request. When the test methods run concurrently, the mapping only matches the
+     * requests of the current test method (see {@link TestScope}). This requires that the application propagates
+     * the header to the remote call.
+     *
+     * @param mappingBuilder The definition of the request and the response.
+     * @return The id of the mapping.
+     */
     public String configureResponse(MappingBuilder mappingBuilder) {
         initWireMockAdminService();
-        String response = wireMockAdminService.submitMapping(mappingBuilder.build());
-
+        String scope = TestScope.current();
         try {
-            return mapper.readValue(response, Map.class).get("uuid").toString();
+            String mapping = mappingBuilder.build();
+            if (scope != null) {
+                mapping = addScopeHeader(mapping, scope);
+            }
+            String response = wireMockAdminService.submitMapping(mapping);
+
+            String result = mapper.readValue(response, Map.class).get("uuid").toString();
+            if (scope != null) {
+                scopedMappings.computeIfAbsent(scope, key -> new CopyOnWriteArrayList<>()).add(result);
+            }
+            return result;
         } catch (JsonProcessingException e) {
             Assert.fail(e.getMessage());
         }
@@ -59,7 +82,17 @@ public class WireMockContainer extends GenericContainer<WireMockContainer> {
         return null;
     }
 
-    private void initWireMockAdminService() {
+    /**
+     * Adds the header with the scope to the request of the mapping. Not done on the MappingBuilder as the caller
+     * can reuse it within another test method.
+     */
+    private String addScopeHeader(String mapping, String scope) throws JsonProcessingException {
+        ObjectNode root = (ObjectNode) mapper.readTree(mapping);
+        root.withObject("/request/headers").putObject(TestScope.HEADER_NAME).put("equalTo", scope);
+        return mapper.writeValueAsString(root);
+    }
+
+    private synchronized void initWireMockAdminService() {
         if (wireMockAdminService != null) {
             return;
         }
@@ -79,6 +112,25 @@ public class WireMockContainer extends GenericContainer<WireMockContainer> {
         wireMockAdminService.deleteAllRequests();
     }
 
+    /**
+     * Removes the mappings and the requests of a test method, the mappings and requests of the other test methods are kept.
+     *
+     * @param scope The scope of the test method, see {@link TestScope}.
+     */
+    public void resetScope(String scope) {
+        initWireMockAdminService();
+        List<String> mappings = scopedMappings.remove(scope);
+        if (mappings != null) {
+            mappings.forEach(wireMockAdminService::deleteMapping);
+        }
+        try {
+            Map<String, Object> criteria = Map.of("headers", Map.of(TestScope.HEADER_NAME, Map.of("equalTo", scope)));
+            wireMockAdminService.removeRequests(mapper.writeValueAsString(criteria));
+        } catch (JsonProcessingException e) {
+            Assert.fail(e.getMessage());
+        }
+    }
+
     public RequestInfo getRequestInfo(String mappingId) {
         initWireMockAdminService();
         Requests requestInfo = wireMockAdminService.getRequestInfo();
@@ -21,6 +21,8 @@ import org.junit.jupiter.api.Assertions;
 
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.MediaType;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class MappingBuilder {
 
@@ -31,6 +33,7 @@ public class MappingBuilder {
     private String method = HttpMethod.GET;
     private String body;
     private String contentType = MediaType.TEXT_PLAIN;  // WireMock expects always a Content type
+    private final Map<String, Map<String, String>> requestHeaders = new LinkedHashMap<>();
 
     public MappingBuilder forURL(String url) {
         this.url = url;
@@ -68,12 +71,21 @@ public class MappingBuilder {
         return this;
     }
 
+    /**
+     * The mapping only matches requests that have the header with exactly that value.
+     */
+    public MappingBuilder withRequestHeader(String name, String value) {
+        requestHeaders.put(name, Map.of("equalTo", value));
+        return this;
+    }
+
     public String build() {
         Mapping result = new Mapping();
 
         Request request = new Request();
         request.setUrl(url);
         request.setMethod(method);
+        request.setHeaders(requestHeaders);
         result.setRequest(request);
 
         Response response = new Response();
@@ -15,12 +15,20 @@
  */
 package be.atbash.testing.integration.wiremock.model.mappings;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
 class Request {
 
     private String url;
 
     private String method;
 
+    // Header name -> matcher (like equalTo) and value.
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Map<String, Map<String, String>> headers;
+
     public String getUrl() {
         return url;
     }
@@ -36,4 +44,12 @@ class Request {
     public void setMethod(String method) {
         this.method = method;
     }
+
+    public Map<String, Map<String, String>> getHeaders() {
+        return headers;
+    }
+
+    public void setHeaders(Map<String, Map<String, String>> headers) {
+        this.headers = headers;
+    }
 }
@@ -20,7 +20,7 @@ import javax.annotation.Priority;
 @Priority(30)
 public class DefaultAdapter implements DockerImageAdapter {
     @Override
-    public String adapt(String dockerFileContent, TestContext testContext) {
-        return dockerFileContent + "\nGeneric Adapter";
+    public void adapt(DockerFile dockerFile, TestContext testContext) {
+        dockerFile.add(DockerFileStage.RUNTIME_CONFIG, "Generic Adapter");
     }
 }
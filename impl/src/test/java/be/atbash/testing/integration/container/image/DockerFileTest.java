@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.container.image;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class DockerFileTest {
+
+    @Test
+    void getContent_stageOrder() {
+        DockerFile dockerFile = new DockerFile()
+                .add(DockerFileStage.APPLICATION, "ADD test.war /deployments")
+                .add(DockerFileStage.LIBRARIES, "ADD driver.jar /lib")
+                .add(DockerFileStage.BASE, "FROM image")
+                .add(DockerFileStage.RUNTIME_CONFIG, "EXPOSE 5005");
+
+        Assertions.assertThat(dockerFile.getContent()).isEqualTo("FROM image\n" +
+                "EXPOSE 5005\n" +
+                "ADD driver.jar /lib\n" +
+                "ADD test.war /deployments");
+    }
+
+    @Test
+    void parse() {
+        DockerFile dockerFile = DockerFile.parse("# Custom\n" +
+                "FROM image\n" +
+                "RUN a && \\\n" +
+                "    b\n" +
+                "ADD test.war /deployments");
+
+        Assertions.assertThat(dockerFile.getInstructions(DockerFileStage.BASE)).containsExactly("# Custom", "FROM image");
+        Assertions.assertThat(dockerFile.getInstructions(DockerFileStage.RUNTIME_CONFIG)).containsExactly("RUN a && \\", "    b");
+        Assertions.assertThat(dockerFile.getInstructions(DockerFileStage.APPLICATION)).containsExactly("ADD test.war /deployments");
+    }
+
+    @Test
+    void parse_linesAfterApplicationKeepOrder() {
+        DockerFile dockerFile = DockerFile.parse("FROM image\n" +
+                "ADD test.war /deployments\n" +
+                "RUN chown user /deployments/test.war\n" +
+                "ENV KEY=value");
+        dockerFile.add(DockerFileStage.RUNTIME_CONFIG, "EXPOSE 5005");
+
+        Assertions.assertThat(dockerFile.getInstructions(DockerFileStage.APPLICATION))
+                .containsExactly("ADD test.war /deployments", "RUN chown user /deployments/test.war", "ENV KEY=value");
+        Assertions.assertThat(dockerFile.getContent()).isEqualTo("FROM image\n" +
+                "EXPOSE 5005\n" +
+                "ADD test.war /deployments\n" +
+                "RUN chown user /deployments/test.war\n" +
+                "ENV KEY=value");
+    }
+
+    @Test
+    void parse_withoutFrom() {
+        DockerFile dockerFile = DockerFile.parse("ADD test.war /deployments\nLine 2");
+
+        Assertions.assertThat(dockerFile.getInstructions(DockerFileStage.BASE)).containsExactly("ADD test.war /deployments", "Line 2");
+        Assertions.assertThat(dockerFile.getContent()).isEqualTo("ADD test.war /deployments\nLine 2");
+    }
+
+    @Test
+    void replaceInstruction() {
+        DockerFile dockerFile = new DockerFile()
+                .add(DockerFileStage.BASE, "FROM image")
+                .add(DockerFileStage.RUNTIME_CONFIG, "CMD [\"--deploy\"]");
+
+        String instruction = dockerFile.findInstruction("--deploy").orElseThrow();
+        dockerFile.replaceInstruction(instruction, "CMD [\"--deploy\", \"--addlibs\"]");
+
+        Assertions.assertThat(dockerFile.getInstructions(DockerFileStage.RUNTIME_CONFIG)).containsExactly("CMD [\"--deploy\", \"--addlibs\"]");
+    }
+}
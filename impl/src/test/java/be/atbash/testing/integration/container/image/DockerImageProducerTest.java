@@ -25,19 +25,21 @@ import org.testcontainers.images.builder.ImageFromDockerfile;
 class DockerImageProducerTest {
 
     @Test
-    void postProcessDockerFileContent_Payara() {
+    void postProcessDockerFile_Payara() {
         DockerImageProducer producer = createProducer();
-        String content = producer.postProcessDockerFileContent("Main Content", SupportedRuntime.PAYARA_MICRO, new TestContext());
-        Assertions.assertThat(content).isEqualTo("Main Content\n" +
+        DockerFile dockerFile = DockerFile.parse("Main Content");
+        producer.postProcessDockerFile(dockerFile, SupportedRuntime.PAYARA_MICRO, new TestContext());
+        Assertions.assertThat(dockerFile.getContent()).isEqualTo("Main Content\n" +
                 "Payara Adapter\n" +
                 "Generic Adapter");
     }
 
     @Test
-    void postProcessDockerFileContent_Default() {
+    void postProcessDockerFile_Default() {
         DockerImageProducer producer = createProducer();
-        String content = producer.postProcessDockerFileContent("Main Content", SupportedRuntime.OPEN_LIBERTY, new TestContext());
-        Assertions.assertThat(content).isEqualTo("Main Content\n" +
+        DockerFile dockerFile = DockerFile.parse("Main Content");
+        producer.postProcessDockerFile(dockerFile, SupportedRuntime.OPEN_LIBERTY, new TestContext());
+        Assertions.assertThat(dockerFile.getContent()).isEqualTo("Main Content\n" +
                 "Generic Adapter");
     }
 
@@ -48,6 +50,11 @@ class DockerImageProducerTest {
             ImageFromDockerfile getImage(ContainerAdapterMetaData metaData, String version, TestContext testContext) {
                 return null;
             }
+
+            @Override
+            String getRuntimeImage(String version) {
+                return null;
+            }
         };
     }
 }
\ No newline at end of file
@@ -22,8 +22,8 @@ import javax.annotation.Priority;
 @Priority(20)
 public class PayaraMicroAdapter implements DockerImageAdapter {
     @Override
-    public String adapt(String dockerFileContent, TestContext testContext) {
-        return dockerFileContent + "\nPayara Adapter";
+    public void adapt(DockerFile dockerFile, TestContext testContext) {
+        dockerFile.add(DockerFileStage.RUNTIME_CONFIG, "Payara Adapter");
     }
 
     @Override
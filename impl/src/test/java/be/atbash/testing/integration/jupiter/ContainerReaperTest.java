@@ -0,0 +1,63 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.jupiter;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.testcontainers.containers.GenericContainer;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class ContainerReaperTest {
+
+    @AfterEach
+    void cleanup() {
+        System.clearProperty("be.atbash.test.container.reaper");
+    }
+
+    @Test
+    void awaitStop_stopInBackground() throws InterruptedException {
+        System.setProperty("be.atbash.test.container.reaper", "true");
+        CountDownLatch stopStarted = new CountDownLatch(1);
+        AtomicBoolean stopped = new AtomicBoolean(false);
+        GenericContainer<?> container = Mockito.mock(GenericContainer.class);
+        Mockito.doAnswer(invocation -> {
+            stopStarted.countDown();
+            Thread.sleep(500);
+            stopped.set(true);
+            return null;
+        }).when(container).stop();
+
+        ContainerReaper.stop(List.of(container));
+        Assertions.assertThat(stopStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        ContainerReaper.awaitStop(container);
+        Assertions.assertThat(stopped).isTrue();
+    }
+
+    @Test
+    void awaitStop_notStopping() {
+        GenericContainer<?> container = Mockito.mock(GenericContainer.class);
+
+        ContainerReaper.awaitStop(container);
+        Mockito.verify(container, Mockito.never()).stop();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.jupiter;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class ContainerStartGraphTest {
+
+    @Test
+    void execute_dependencyOrder() {
+        List<String> executed = new CopyOnWriteArrayList<>();
+        Object db = new Object();
+        Object app = new Object();
+
+        new ContainerStartGraph()
+                .addNode(app, "app", () -> executed.add("app"), List.of(db))
+                .addNode(db, "db", () -> executed.add("db"), Collections.emptyList())
+                .execute();
+
+        Assertions.assertThat(executed).containsExactly("db", "app");
+    }
+
+    @Test
+    void execute_failureSkipsDependents() {
+        List<String> executed = new CopyOnWriteArrayList<>();
+        Object db = new Object();
+        Object app = new Object();
+
+        ContainerStartGraph graph = new ContainerStartGraph()
+                .addNode(db, "db", () -> {
+                    throw new IllegalStateException("db failed");
+                }, Collections.emptyList())
+                .addNode(app, "app", () -> executed.add("app"), List.of(db));
+
+        Assertions.assertThatThrownBy(graph::execute)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("db failed");
+        Assertions.assertThat(executed).isEmpty();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.jupiter;
+
+import be.atbash.testing.integration.ConfigurationException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+class IsolatedNetworkTest {
+
+    @Test
+    void checkAliases() {
+        Map<GenericContainer<?>, String> containers = new IdentityHashMap<>();
+        containers.put(container("db"), "database");
+        containers.put(container("wire"), "wireMockContainer");
+
+        Assertions.assertThatCode(() -> IsolatedNetwork.checkAliases(containers)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkAliases_collision() {
+        Map<GenericContainer<?>, String> containers = new IdentityHashMap<>();
+        containers.put(container("db"), "database");
+        containers.put(container("db"), "db");
+
+        Assertions.assertThatThrownBy(() -> IsolatedNetwork.checkAliases(containers))
+                .isInstanceOf(ConfigurationException.class)
+                .hasMessageContaining("The network alias 'db' is used by the containers");
+    }
+
+    private static GenericContainer<?> container(String alias) {
+        return new GenericContainer<>(DockerImageName.parse("alpine:3.17"))
+                .withNetworkAliases(alias);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.jupiter;
+
+import be.atbash.testing.integration.container.AbstractIntegrationContainer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class SharedContainerPoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ContainerAdapterMetaData metaData;
+
+    @BeforeEach
+    void setup() throws IOException {
+        Path warFile = Files.writeString(tempDir.resolve("test.war"), "application");
+        metaData = Mockito.mock(ContainerAdapterMetaData.class);
+        Mockito.when(metaData.getWarFileLocation()).thenReturn(warFile.toString());
+    }
+
+    @Test
+    void acquire_inUseByOtherTestClass() {
+        SharedContainerPool pool = new SharedContainerPool();
+
+        SharedContainerPool.SharedContainer first = pool.acquire("fingerprint", metaData, SharedContainerPoolTest::newContainer);
+        SharedContainerPool.SharedContainer second = pool.acquire("fingerprint", metaData, SharedContainerPoolTest::newContainer);
+
+        Assertions.assertThat(second.getContainer()).isNotSameAs(first.getContainer());
+        Assertions.assertThat(second.getNetwork()).isNotSameAs(first.getNetwork());
+        Assertions.assertThat(pool.isShared(first.getContainer())).isTrue();
+        Assertions.assertThat(pool.isShared(second.getContainer())).isTrue();
+    }
+
+    @Test
+    void acquire_afterRelease() {
+        SharedContainerPool pool = new SharedContainerPool();
+
+        SharedContainerPool.SharedContainer first = pool.acquire("fingerprint", metaData, SharedContainerPoolTest::newContainer);
+        pool.release(first);
+        SharedContainerPool.SharedContainer second = pool.acquire("fingerprint", metaData, SharedContainerPoolTest::newContainer);
+
+        Assertions.assertThat(second).isSameAs(first);
+        Mockito.verify(first.getContainer(), Mockito.never()).stop();
+    }
+
+    private static AbstractIntegrationContainer<?> newContainer() {
+        return Mockito.mock(AbstractIntegrationContainer.class);
+    }
+}
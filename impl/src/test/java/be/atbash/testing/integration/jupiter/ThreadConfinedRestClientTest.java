@@ -0,0 +1,87 @@
+/*
+ * Copyright 2022-2023 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.testing.integration.jupiter;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+class ThreadConfinedRestClientTest {
+
+    @Test
+    void create_clientForEachThread() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        Supplier<String> client = (Supplier<String>) ThreadConfinedRestClient.create(Supplier.class, () -> {
+            String name = "client" + counter.incrementAndGet();
+            return (Supplier<String>) () -> name;
+        });
+
+        Assertions.assertThat(client.get()).isEqualTo("client1");
+        Assertions.assertThat(client.get()).isEqualTo("client1");
+        Assertions.assertThat(CompletableFuture.supplyAsync(client::get).get()).isEqualTo("client2");
+    }
+
+    @Test
+    void create_exceptionOfClient() {
+        Supplier<String> client = (Supplier<String>) ThreadConfinedRestClient.create(Supplier.class, () -> (Supplier<String>) () -> {
+            throw new IllegalStateException("Not Found");
+        });
+
+        Assertions.assertThatThrownBy(client::get)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Not Found");
+    }
+
+    @Test
+    void close_clientsOfAllThreads() throws Exception {
+        List<String> closed = new CopyOnWriteArrayList<>();
+        AtomicInteger counter = new AtomicInteger();
+        ClosableService client = (ClosableService) ThreadConfinedRestClient.create(ClosableService.class, () -> {
+            String name = "client" + counter.incrementAndGet();
+            return new ClosableService() {
+                @Override
+                public String get() {
+                    return name;
+                }
+
+                @Override
+                public void close() {
+                    closed.add(name);
+                }
+            };
+        });
+
+        client.get();
+        CompletableFuture.supplyAsync(client::get).get();
+
+        ThreadConfinedRestClient.getHandler(client).close();
+        Assertions.assertThat(closed).containsExactlyInAnyOrder("client1", "client2");
+    }
+
+    @Test
+    void getHandler_otherClient() {
+        Supplier<String> client = () -> "client";
+        Assertions.assertThat(ThreadConfinedRestClient.getHandler(client)).isNull();
+    }
+
+    public interface ClosableService extends Supplier<String>, AutoCloseable {
+    }
+}
@@ -84,4 +84,14 @@ class MappingBuilderTest {
         Assertions.assertThat(value).isEqualTo("{\"request\":{\"url\":\"/path6\",\"method\":\"GET\"},\"response\":{\"status\":404,\"body\":null,\"headers\":{\"Content-Type\":\"text/plain\"}}}");
     }
 
-}
\ No newline at end of file
+    @Test
+    void defineRequestHeader() {
+        String value = new MappingBuilder()
+                .forURL("/path7")
+                .withRequestHeader("X-Atbash-Test-Scope", "scope1")
+                .withBody("Atbash testing")
+                .build();
+        Assertions.assertThat(value).isEqualTo("{\"request\":{\"url\":\"/path7\",\"method\":\"GET\",\"headers\":{\"X-Atbash-Test-Scope\":{\"equalTo\":\"scope1\"}}},\"response\":{\"status\":200,\"body\":\"Atbash testing\",\"headers\":{\"Content-Type\":\"text/plain\"}}}");
+    }
+
+}